@@ -0,0 +1,70 @@
+package com.example.rqchallenge.employees.benchmark;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.GenericEmployeeResponse;
+import com.example.rqchallenge.employees.util.JsonMapperUtil;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic employee datasets of any size, shaped after the {@code getAllEmployeesResponse.json} fixture.
+ * Employees cycle through the fixture's names with a generation suffix, so a name search matches a fixed
+ * share of the dataset, and salaries and ages are spread around the fixture's values from a fixed seed,
+ * so every run and every commit benchmarks the same data.
+ */
+class EmployeeDatasets {
+
+    static final String SEARCH_STRING = "nixon";
+
+    private static final String FIXTURE = "/data/getAllEmployeesResponse.json";
+    private static final long SEED = 42L;
+
+    static List<Employee> employees(int size) {
+        final List<Employee> templates = templates();
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final Employee template = templates.get(i % templates.size());
+            employees.add(Employee.builder()
+                    .id(i + 1)
+                    .employeeName(template.getEmployeeName() + " " + (i / templates.size()))
+                    .employeeSalary(template.getEmployeeSalary() + random.nextInt(-50_000, 50_000))
+                    .employeeAge(random.nextInt(18, 70))
+                    .profileImage(template.getProfileImage())
+                    .build());
+        }
+        return employees;
+    }
+
+    /**
+     * The dataset as the external API would send it, wrapped in the usual success envelope.
+     */
+    static byte[] employeeListResponse(int size) {
+        try {
+            return JsonMapperUtil.objectMapper().writeValueAsBytes(
+                    new GenericEmployeeResponse<>("success", "Successfully! All records has been fetched.", employees(size)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Employee> templates() {
+        try (InputStream fixture = EmployeeDatasets.class.getResourceAsStream(FIXTURE)) {
+            if (fixture == null) {
+                throw new IllegalStateException("Missing benchmark fixture " + FIXTURE);
+            }
+            final GenericEmployeeResponse<List<Employee>> response = JsonMapperUtil.objectMapper()
+                    .readValue(fixture, new TypeReference<GenericEmployeeResponse<List<Employee>>>() {
+                    });
+            return response.getData();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
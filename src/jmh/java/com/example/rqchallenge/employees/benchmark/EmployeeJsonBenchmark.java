@@ -0,0 +1,89 @@
+package com.example.rqchallenge.employees.benchmark;
+
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.client.RequestHedger;
+import com.example.rqchallenge.employees.client.RetryBudget;
+import com.example.rqchallenge.employees.client.RetryMetrics;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.util.JsonMapperUtil;
+import com.example.rqchallenge.employees.util.NdjsonUtil;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON work on both sides of the service: decoding the external API's employee list, delivered in
+ * network-sized chunks through the real {@link EmployeeApiClient}, and serializing employee lists the
+ * way the v1 API answers, as a JSON array or as NDJSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJsonBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+    private static final DefaultDataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private byte[] upstreamBody;
+    private List<Employee> employees;
+    private EmployeeApiClient employeeApiClient;
+    private final ObjectWriter arrayWriter = JsonMapperUtil.objectMapper().writer();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        upstreamBody = EmployeeDatasets.employeeListResponse(size);
+        employees = EmployeeDatasets.employees(size);
+        final WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(upstreamChunks())
+                        .build()))
+                .build();
+        // a generous deadline keeps the largest dataset from being cut off mid-decode
+        employeeApiClient = new EmployeeApiClient(webClient, new RetryBudget(), new RequestHedger(), new RetryMetrics(), Duration.ofMinutes(1));
+    }
+
+    @Benchmark
+    public List<Employee> decodeUpstreamEmployeeList() {
+        return employeeApiClient.getAllEmployees().block();
+    }
+
+    @Benchmark
+    public void serializeJsonArray() throws IOException {
+        arrayWriter.writeValue(OutputStream.nullOutputStream(), employees);
+    }
+
+    @Benchmark
+    public void serializeNdjson() throws IOException {
+        NdjsonUtil.writeLines(employees, OutputStream.nullOutputStream());
+    }
+
+    private Flux<DataBuffer> upstreamChunks() {
+        return Flux.range(0, (upstreamBody.length + CHUNK_SIZE - 1) / CHUNK_SIZE)
+                .map(chunk -> {
+                    final int offset = chunk * CHUNK_SIZE;
+                    return bufferFactory.wrap(ByteBuffer.wrap(upstreamBody, offset, Math.min(CHUNK_SIZE, upstreamBody.length - offset)));
+                });
+    }
+}
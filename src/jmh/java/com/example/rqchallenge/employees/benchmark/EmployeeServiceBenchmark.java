@@ -0,0 +1,69 @@
+package com.example.rqchallenge.employees.benchmark;
+
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.service.EmployeeServiceImpl;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotManager;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotStore;
+import com.example.rqchallenge.employees.snapshot.EmployeeStorage;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of {@link EmployeeServiceImpl} against a loaded snapshot. The service is used without its
+ * caching proxy, so every invocation does the full work a cache miss would. Each storage engine is
+ * measured separately.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"OBJECTS", "COLUMNAR", "COLUMNAR_OFF_HEAP"})
+    private EmployeeStorage storage;
+
+    private EmployeeServiceImpl employeeService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final List<Employee> employees = EmployeeDatasets.employees(size);
+        final EmployeeApiClient employeeApiClient = new EmployeeApiClient(WebClient.create()) {
+            @Override
+            public Mono<List<Employee>> getAllEmployees() {
+                return Mono.just(employees);
+            }
+        };
+        final EmployeeSnapshotManager employeeSnapshotManager = new EmployeeSnapshotManager(employeeApiClient, EmployeeSnapshotStore.disabled(),
+                event -> {
+                }, Duration.ofMinutes(1), Duration.ofMinutes(10), storage);
+        employeeService = new EmployeeServiceImpl(employeeApiClient, employeeSnapshotManager, new NoOpCacheManager());
+        employeeSnapshotManager.current();
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesByNameSearch() {
+        return employeeService.getEmployeesByNameSearch(EmployeeDatasets.SEARCH_STRING);
+    }
+
+    @Benchmark
+    public Integer getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+}
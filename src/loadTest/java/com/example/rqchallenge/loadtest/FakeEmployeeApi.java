@@ -0,0 +1,183 @@
+package com.example.rqchallenge.loadtest;
+
+import com.example.rqchallenge.employees.dto.CreateEmployeeResponse;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.GenericEmployeeResponse;
+import com.example.rqchallenge.employees.util.JsonMapperUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for dummy.restapiexample.com. It serves a synthetic dataset through the same four
+ * endpoints and envelopes, delays every answer by a log-normally distributed latency, and answers a
+ * configurable share of calls with a 500 or a 429 instead. Writes are acknowledged but not applied,
+ * so every run starts from the same dataset.
+ */
+class FakeEmployeeApi implements AutoCloseable {
+
+    private static final Pattern EMPLOYEE_BY_ID = Pattern.compile("/api/v1/employee/(\\d+)");
+    private static final Pattern DELETE_BY_ID = Pattern.compile("/api/v1/delete/(\\d+)");
+    // the standard normal quantile of 0.99, which turns the configured p99 into a log-normal sigma
+    private static final double Z_99 = 2.3263;
+    private static final String[] FIRST_NAMES = {"Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod", "Rhona", "Colleen", "Sonya"};
+    private static final String[] LAST_NAMES = {"Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler", "Davidson", "Hurst", "Frost"};
+
+    private final ObjectMapper objectMapper = JsonMapperUtil.objectMapper();
+    private final MockWebServer server = new MockWebServer();
+    private final LoadTestSettings settings;
+    private final double latencySigma;
+    private final byte[] allEmployeesBody;
+    private final List<byte[]> employeeBodies;
+    private final AtomicInteger nextId;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong throttles = new AtomicLong();
+
+    FakeEmployeeApi(LoadTestSettings settings) {
+        this.settings = settings;
+        this.latencySigma = Math.log((double) settings.upstreamLatencyP99.toNanos() / Math.max(1, settings.upstreamLatencyMedian.toNanos())) / Z_99;
+        final List<Employee> employees = employees(settings.upstreamEmployees);
+        this.allEmployeesBody = envelope(employees, "Successfully! All records has been fetched.");
+        this.employeeBodies = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            employeeBodies.add(envelope(employee, "Successfully! Record has been fetched."));
+        }
+        this.nextId = new AtomicInteger(employees.size());
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return answer(request);
+            }
+        });
+    }
+
+    void start() throws IOException {
+        server.start();
+    }
+
+    String baseUrl() {
+        return String.format("http://localhost:%d", server.getPort());
+    }
+
+    long getRequests() {
+        return requests.get();
+    }
+
+    long getFailures() {
+        return failures.get();
+    }
+
+    long getThrottles() {
+        return throttles.get();
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private MockResponse answer(RecordedRequest request) {
+        requests.incrementAndGet();
+        final MockResponse response = respond(request).setHeadersDelay(nextLatencyMillis(), TimeUnit.MILLISECONDS);
+        final double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < settings.upstreamErrorRate) {
+            failures.incrementAndGet();
+            return response.setResponseCode(500).setBody("");
+        }
+        if (roll < settings.upstreamErrorRate + settings.upstreamThrottleRate) {
+            throttles.incrementAndGet();
+            return response.setResponseCode(429).setBody("");
+        }
+        return response;
+    }
+
+    private MockResponse respond(RecordedRequest request) {
+        final String path = request.getPath();
+        final Matcher employeeById = EMPLOYEE_BY_ID.matcher(path);
+        final Matcher deleteById = DELETE_BY_ID.matcher(path);
+        if ("GET".equals(request.getMethod()) && "/api/v1/employees".equals(path)) {
+            return json(allEmployeesBody);
+        }
+        if ("GET".equals(request.getMethod()) && employeeById.matches()) {
+            final int id = Integer.parseInt(employeeById.group(1));
+            return json(id >= 1 && id <= employeeBodies.size()
+                    ? employeeBodies.get(id - 1)
+                    : envelope(null, "Successfully! Record has been fetched."));
+        }
+        if ("POST".equals(request.getMethod()) && "/api/v1/create".equals(path)) {
+            return json(envelope(created(request.getBody()), "Successfully! Record has been added."));
+        }
+        if ("DELETE".equals(request.getMethod()) && deleteById.matches()) {
+            return json(envelope(deleteById.group(1), "Successfully! Record has been deleted"));
+        }
+        return new MockResponse().setResponseCode(404);
+    }
+
+    private CreateEmployeeResponse created(Buffer body) {
+        try {
+            final Map<?, ?> request = objectMapper.readValue(body.readUtf8(), Map.class);
+            return CreateEmployeeResponse.builder()
+                    .id(nextId.incrementAndGet())
+                    .name(String.valueOf(request.get("name")))
+                    .salary(Integer.parseInt(String.valueOf(request.get("salary"))))
+                    .age(Integer.parseInt(String.valueOf(request.get("age"))))
+                    .profileImage((String) request.get("profileImage"))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long nextLatencyMillis() {
+        final double gaussian = ThreadLocalRandom.current().nextGaussian();
+        return Math.round(settings.upstreamLatencyMedian.toMillis() * Math.exp(latencySigma * gaussian));
+    }
+
+    private MockResponse json(byte[] body) {
+        return new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(new Buffer().write(body));
+    }
+
+    private byte[] envelope(Object data, String message) {
+        try {
+            return objectMapper.writeValueAsBytes(new GenericEmployeeResponse<>("success", message, data));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Employee> employees(int size) {
+        final List<Employee> employees = new ArrayList<>(size);
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < size; i++) {
+            employees.add(Employee.builder()
+                    .id(i + 1)
+                    .employeeName(FIRST_NAMES[i % FIRST_NAMES.length] + " " + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length] + " " + i)
+                    .employeeSalary(random.nextInt(30_000, 800_000))
+                    .employeeAge(random.nextInt(18, 70))
+                    .profileImage("")
+                    .build());
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.rqchallenge.loadtest;
+
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * One endpoint of the v1 API, together with how to build a fresh request for it. Ids are drawn from
+ * a range slightly larger than the upstream dataset, so lookups see the occasional miss too.
+ */
+@Value
+class LoadScenario {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int BATCH_SIZE = 50;
+    private static final int BULK_SIZE = 20;
+    private static final String[] SEARCH_STRINGS = {"nixon", "tiger", "winters", "kelly", "frost 1"};
+
+    String name;
+    Function<ThreadLocalRandom, HttpRequest> requests;
+
+    HttpRequest nextRequest() {
+        return requests.apply(ThreadLocalRandom.current());
+    }
+
+    static List<LoadScenario> all(URI baseUri, int employees) {
+        final int idRange = employees + Math.max(1, employees / 20);
+        return List.of(
+                new LoadScenario("getAllEmployees", random -> get(baseUri, "").build()),
+                new LoadScenario("streamAllEmployees", random -> get(baseUri, "")
+                        .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_NDJSON_VALUE)
+                        .build()),
+                new LoadScenario("getEmployeesByNameSearch", random ->
+                        get(baseUri, "/search/" + SEARCH_STRINGS[random.nextInt(SEARCH_STRINGS.length)].replace(" ", "%20")).build()),
+                new LoadScenario("getEmployeeById", random -> get(baseUri, "/" + (1 + random.nextInt(idRange))).build()),
+                new LoadScenario("getEmployeesByIds", random -> post(baseUri, "/batch",
+                        "{\"ids\":" + quotedIds(random, idRange, BATCH_SIZE) + "}")),
+                new LoadScenario("getHighestSalaryOfEmployees", random -> get(baseUri, "/highestSalary").build()),
+                new LoadScenario("getTopTenHighestEarningEmployeeNames", random -> get(baseUri, "/topTenHighestEarningEmployeeNames").build()),
+                new LoadScenario("getTopHighestEarningEmployeeNames", random -> get(baseUri, "/topHighestEarning?k=" + (1 + random.nextInt(100))).build()),
+                new LoadScenario("getEmployeeStatistics", random -> get(baseUri, "/stats").build()),
+                new LoadScenario("createEmployee", random -> post(baseUri, "", newEmployee(random))),
+                new LoadScenario("deleteEmployeeById", random -> request(baseUri, "/" + (1 + random.nextInt(employees)))
+                        .DELETE()
+                        .build()),
+                new LoadScenario("createEmployees", random -> post(baseUri, "/bulk", IntStream.range(0, BULK_SIZE)
+                        .mapToObj(i -> newEmployee(random))
+                        .collect(Collectors.joining(",", "[", "]")))),
+                new LoadScenario("deleteEmployeesByIds", random -> post(baseUri, "/bulk/delete",
+                        "{\"ids\":" + quotedIds(random, employees, BULK_SIZE) + "}"))
+        );
+    }
+
+    private static HttpRequest.Builder request(URI baseUri, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private static HttpRequest.Builder get(URI baseUri, String path) {
+        return request(baseUri, path).GET();
+    }
+
+    private static HttpRequest post(URI baseUri, String path, String json) {
+        return request(baseUri, path)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String quotedIds(ThreadLocalRandom random, int idRange, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> "\"" + (1 + random.nextInt(idRange)) + "\"")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String newEmployee(ThreadLocalRandom random) {
+        return String.format("{\"name\":\"Load Test %d\",\"salary\":%d,\"age\":%d,\"profile_image\":\"\"}",
+                random.nextInt(1_000_000), random.nextInt(30_000, 800_000), random.nextInt(18, 70));
+    }
+}
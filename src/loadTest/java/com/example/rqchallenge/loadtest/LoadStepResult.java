@@ -0,0 +1,43 @@
+package com.example.rqchallenge.loadtest;
+
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Outcome of driving one scenario at one concurrency level for the measured duration. Latencies are
+ * in milliseconds; {@code errors} counts 5xx answers and requests that got no answer at all.
+ */
+@Value
+class LoadStepResult {
+
+    String scenario;
+    int concurrency;
+    long requests;
+    long errors;
+    Map<String, Long> statuses;
+    double throughputPerSecond;
+    double p50Millis;
+    double p95Millis;
+    double p99Millis;
+    double maxMillis;
+
+    static LoadStepResult of(String scenario, int concurrency, Duration elapsed, Histogram latencyMicros, Map<String, Long> statuses) {
+        final long errors = statuses.entrySet().stream()
+                .filter(status -> !Character.isDigit(status.getKey().charAt(0)) || status.getKey().startsWith("5"))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        return new LoadStepResult(scenario, concurrency, latencyMicros.getTotalCount(), errors, statuses,
+                latencyMicros.getTotalCount() / (elapsed.toNanos() / 1e9),
+                millis(latencyMicros.getValueAtPercentile(50)),
+                millis(latencyMicros.getValueAtPercentile(95)),
+                millis(latencyMicros.getValueAtPercentile(99)),
+                millis(latencyMicros.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
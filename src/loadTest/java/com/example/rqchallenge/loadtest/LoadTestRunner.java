@@ -0,0 +1,158 @@
+package com.example.rqchallenge.loadtest;
+
+import com.example.rqchallenge.RqChallengeApplication;
+import com.example.rqchallenge.employees.util.JsonMapperUtil;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the application against {@link FakeEmployeeApi} and drives every v1 endpoint with a fixed
+ * number of closed-loop clients, each sending its next request as soon as the previous one is answered.
+ * Every scenario runs once per concurrency level: an unmeasured warm-up, then a measured run whose
+ * throughput and latency percentiles are printed and written as JSON, so runs can be compared offline.
+ * <p>
+ * Run with {@code ./gradlew loadTest}; see {@link LoadTestSettings} for the knobs.
+ */
+public class LoadTestRunner {
+
+    private static final String API_PATH = "/employees/api/v1";
+
+    public static void main(String[] args) throws Exception {
+        final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        try (FakeEmployeeApi upstream = new FakeEmployeeApi(settings)) {
+            upstream.start();
+            final ConfigurableApplicationContext application = startApplication(settings, upstream.baseUrl());
+            try {
+                final int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+                final List<LoadStepResult> results = run(settings, URI.create("http://localhost:" + port + API_PATH));
+                writeResults(settings, upstream, results);
+            } finally {
+                application.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestSettings settings, String upstreamBaseUrl) {
+        final Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        // per-request logging at this rate would measure the log appender rather than the service
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.example.rqchallenge.employees.exception.handler", "OFF");
+        properties.putAll(settings.applicationProperties);
+        properties.put("external.api.base.url", upstreamBaseUrl);
+        final String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return SpringApplication.run(RqChallengeApplication.class, args);
+    }
+
+    private static List<LoadStepResult> run(LoadTestSettings settings, URI baseUri) throws InterruptedException {
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        final List<LoadScenario> scenarios = LoadScenario.all(baseUri, settings.upstreamEmployees).stream()
+                .filter(scenario -> settings.scenarios.isEmpty() || settings.scenarios.contains(scenario.getName()))
+                .collect(Collectors.toList());
+        final List<LoadStepResult> results = new ArrayList<>();
+        System.out.printf("%-38s %6s %9s %7s %10s %9s %9s %9s %9s%n",
+                "scenario", "conc", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (LoadScenario scenario : scenarios) {
+            for (int concurrency : settings.concurrencyLevels) {
+                drive(httpClient, scenario, concurrency, settings.warmup);
+                final LoadStepResult result = drive(httpClient, scenario, concurrency, settings.duration);
+                results.add(result);
+                System.out.printf("%-38s %6d %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                        result.getScenario(), result.getConcurrency(), result.getRequests(), result.getErrors(),
+                        result.getThroughputPerSecond(), result.getP50Millis(), result.getP95Millis(), result.getP99Millis(),
+                        result.getMaxMillis(), result.getStatuses());
+            }
+        }
+        return results;
+    }
+
+    private static LoadStepResult drive(HttpClient httpClient, LoadScenario scenario, int concurrency, Duration duration)
+            throws InterruptedException {
+        final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+        final ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        final long start = System.nanoTime();
+        final long end = start + duration.toNanos();
+        final List<Callable<Histogram>> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(() -> {
+                final Histogram latencyMicros = new Histogram(3);
+                while (System.nanoTime() < end) {
+                    final long sent = System.nanoTime();
+                    String status;
+                    try {
+                        status = String.valueOf(httpClient.send(scenario.nextRequest(), HttpResponse.BodyHandlers.discarding()).statusCode());
+                    } catch (IOException e) {
+                        status = e.getClass().getSimpleName();
+                    }
+                    latencyMicros.recordValue((System.nanoTime() - sent) / 1000);
+                    statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                }
+                return latencyMicros;
+            });
+        }
+        final Histogram latencyMicros = new Histogram(3);
+        try {
+            for (Future<Histogram> worker : clients.invokeAll(workers)) {
+                latencyMicros.add(worker.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load client failed", e.getCause());
+        } finally {
+            clients.shutdownNow();
+        }
+        final Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return LoadStepResult.of(scenario.getName(), concurrency, elapsed, latencyMicros, statuses.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, status -> status.getValue().sum(), Long::sum, TreeMap::new)));
+    }
+
+    private static void writeResults(LoadTestSettings settings, FakeEmployeeApi upstream, List<LoadStepResult> results) throws IOException {
+        final Map<String, Object> report = new LinkedHashMap<>();
+        final Map<String, Object> upstreamReport = new LinkedHashMap<>();
+        upstreamReport.put("employees", settings.upstreamEmployees);
+        upstreamReport.put("latencyMedianMillis", settings.upstreamLatencyMedian.toMillis());
+        upstreamReport.put("latencyP99Millis", settings.upstreamLatencyP99.toMillis());
+        upstreamReport.put("errorRate", settings.upstreamErrorRate);
+        upstreamReport.put("throttleRate", settings.upstreamThrottleRate);
+        upstreamReport.put("requests", upstream.getRequests());
+        upstreamReport.put("failuresInjected", upstream.getFailures());
+        upstreamReport.put("throttlesInjected", upstream.getThrottles());
+        report.put("upstream", upstreamReport);
+        report.put("warmupMillis", settings.warmup.toMillis());
+        report.put("durationMillis", settings.duration.toMillis());
+        report.put("applicationProperties", settings.applicationProperties);
+        report.put("results", results);
+        if (settings.resultsFile.getParent() != null) {
+            Files.createDirectories(settings.resultsFile.getParent());
+        }
+        JsonMapperUtil.objectMapper().writerWithDefaultPrettyPrinter().writeValue(settings.resultsFile.toFile(), report);
+        System.out.printf("%nUpstream served %d requests (%d failures and %d throttles injected). Results written to %s%n",
+                upstream.getRequests(), upstream.getFailures(), upstream.getThrottles(), settings.resultsFile.toAbsolutePath());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.rqchallenge.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Knobs of a load-test run, read from {@code loadtest.*} system properties so that
+ * {@code ./gradlew loadTest -Ploadtest.concurrency=1,64} and friends can change them per run.
+ * Properties under {@code loadtest.app.} are handed to the application itself, with the prefix removed.
+ */
+class LoadTestSettings {
+
+    private static final String PREFIX = "loadtest.";
+    private static final String APP_PREFIX = PREFIX + "app.";
+
+    /** Employees the fake upstream serves. */
+    final int upstreamEmployees;
+    /** Median latency of the fake upstream; latencies follow a log-normal distribution. */
+    final Duration upstreamLatencyMedian;
+    /** 99th percentile latency of the fake upstream. */
+    final Duration upstreamLatencyP99;
+    /** Share of upstream calls answered with a 500. */
+    final double upstreamErrorRate;
+    /** Share of upstream calls answered with a 429. */
+    final double upstreamThrottleRate;
+    /** Concurrent clients per step; every scenario is run once per level. */
+    final List<Integer> concurrencyLevels;
+    /** Unmeasured run before every step, so caches, pools and the JIT settle first. */
+    final Duration warmup;
+    /** Measured run of every step. */
+    final Duration duration;
+    /** Scenarios to run, by name; empty runs them all. */
+    final List<String> scenarios;
+    /** Where the machine-readable results are written. */
+    final Path resultsFile;
+    /** Extra application properties, without the {@code loadtest.app.} prefix. */
+    final Map<String, String> applicationProperties;
+
+    private LoadTestSettings(Properties properties) {
+        upstreamEmployees = Integer.parseInt(properties.getProperty(PREFIX + "upstream.employees", "1000"));
+        upstreamLatencyMedian = duration(properties, "upstream.latency.median", "50ms");
+        upstreamLatencyP99 = duration(properties, "upstream.latency.p99", "300ms");
+        upstreamErrorRate = Double.parseDouble(properties.getProperty(PREFIX + "upstream.error-rate", "0"));
+        upstreamThrottleRate = Double.parseDouble(properties.getProperty(PREFIX + "upstream.throttle-rate", "0"));
+        concurrencyLevels = list(properties.getProperty(PREFIX + "concurrency", "1,8,32")).stream()
+                .map(Integer::parseInt)
+                .collect(Collectors.toList());
+        warmup = duration(properties, "warmup", "3s");
+        duration = duration(properties, "duration", "10s");
+        scenarios = list(properties.getProperty(PREFIX + "scenarios", ""));
+        resultsFile = Path.of(properties.getProperty(PREFIX + "results", "build/results/loadtest/results.json"));
+        applicationProperties = properties.stringPropertyNames().stream()
+                .filter(name -> name.startsWith(APP_PREFIX))
+                .collect(Collectors.toMap(name -> name.substring(APP_PREFIX.length()), properties::getProperty));
+        if (upstreamLatencyP99.compareTo(upstreamLatencyMedian) < 0) {
+            throw new IllegalArgumentException("loadtest.upstream.latency.p99 must not be below the median");
+        }
+        if (upstreamErrorRate + upstreamThrottleRate > 1) {
+            throw new IllegalArgumentException("Upstream error and throttle rates add up to more than 1");
+        }
+    }
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(System.getProperties());
+    }
+
+    private static Duration duration(Properties properties, String name, String defaultValue) {
+        return DurationStyle.detectAndParse(properties.getProperty(PREFIX + name, defaultValue));
+    }
+
+    private static List<String> list(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toList());
+    }
+}
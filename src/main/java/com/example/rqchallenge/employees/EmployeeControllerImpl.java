@@ -1,14 +1,25 @@
 package com.example.rqchallenge.employees;
 
+import com.example.rqchallenge.employees.constants.ApplicationConstants;
+import com.example.rqchallenge.employees.dto.BatchLookupRequest;
+import com.example.rqchallenge.employees.dto.BatchLookupResponse;
+import com.example.rqchallenge.employees.dto.BulkDeleteRequest;
+import com.example.rqchallenge.employees.dto.BulkWriteResponse;
 import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.EmployeePage;
+import com.example.rqchallenge.employees.dto.EmployeePageRequest;
+import com.example.rqchallenge.employees.dto.EmployeeStatisticsResponse;
 import com.example.rqchallenge.employees.exception.EmployeeNotFoundException;
 import com.example.rqchallenge.employees.exception.NoDataException;
 import com.example.rqchallenge.employees.service.IEmployeeService;
+import com.example.rqchallenge.employees.util.NdjsonUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -21,12 +32,27 @@ public class EmployeeControllerImpl implements IEmployeeController {
     private final IEmployeeService iEmployeeService;
 
     @Override
-    public ResponseEntity<List<Employee>> getAllEmployees() {
+    public ResponseEntity<List<Employee>> getAllEmployees(EmployeePageRequest pageRequest) {
+        if (pageRequest.isPaged()) {
+            return pageResponse(iEmployeeService.getEmployeesPage(pageRequest));
+        }
         return ResponseEntity.ok(iEmployeeService.getAllEmployees());
     }
 
     @Override
-    public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString) {
+    public ResponseEntity<StreamingResponseBody> streamAllEmployees() {
+        // resolved before streaming starts so that failures still reach the controller advice
+        List<Employee> employees = iEmployeeService.getAllEmployees();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> NdjsonUtil.writeLines(employees, outputStream));
+    }
+
+    @Override
+    public ResponseEntity<List<Employee>> getEmployeesByNameSearch(String searchString, EmployeePageRequest pageRequest) {
+        if (pageRequest.isPaged()) {
+            return pageResponse(iEmployeeService.getEmployeesByNameSearchPage(searchString, pageRequest));
+        }
         List<Employee> employeesByNameSearch = iEmployeeService.getEmployeesByNameSearch(searchString);
         if (employeesByNameSearch == null || employeesByNameSearch.isEmpty()) {
             throw new NoDataException();
@@ -39,6 +65,11 @@ public class EmployeeControllerImpl implements IEmployeeController {
         return ResponseEntity.ok(iEmployeeService.getEmployeeById(id).orElseThrow(() -> new EmployeeNotFoundException(id)));
     }
 
+    @Override
+    public ResponseEntity<BatchLookupResponse> getEmployeesByIds(BatchLookupRequest batchLookupRequest) {
+        return ResponseEntity.ok(iEmployeeService.getEmployeesByIds(batchLookupRequest.getIds()));
+    }
+
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         return ResponseEntity.ok(iEmployeeService.getHighestSalaryOfEmployees());
@@ -49,6 +80,16 @@ public class EmployeeControllerImpl implements IEmployeeController {
         return ResponseEntity.ok(iEmployeeService.getTopTenHighestEarningEmployeeNames());
     }
 
+    @Override
+    public ResponseEntity<List<String>> getTopHighestEarningEmployeeNames(int k) {
+        return ResponseEntity.ok(iEmployeeService.getTopHighestEarningEmployeeNames(k));
+    }
+
+    @Override
+    public ResponseEntity<EmployeeStatisticsResponse> getEmployeeStatistics() {
+        return ResponseEntity.ok(iEmployeeService.getEmployeeStatistics());
+    }
+
     @Override
     public ResponseEntity<Employee> createEmployee(Map<String, Object> employeeInput) {
         return new ResponseEntity<>(iEmployeeService.createEmployee(employeeInput), HttpStatus.CREATED);
@@ -58,4 +99,23 @@ public class EmployeeControllerImpl implements IEmployeeController {
     public ResponseEntity<String> deleteEmployeeById(String id) {
         return ResponseEntity.ok(iEmployeeService.deleteEmployeeById(id));
     }
+
+    @Override
+    public ResponseEntity<BulkWriteResponse> createEmployees(List<Map<String, Object>> employeeInputs) {
+        return ResponseEntity.ok(iEmployeeService.createEmployees(employeeInputs));
+    }
+
+    @Override
+    public ResponseEntity<BulkWriteResponse> deleteEmployeesByIds(BulkDeleteRequest bulkDeleteRequest) {
+        return ResponseEntity.ok(iEmployeeService.deleteEmployeesByIds(bulkDeleteRequest.getIds()));
+    }
+
+    private static ResponseEntity<List<Employee>> pageResponse(EmployeePage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(ApplicationConstants.HEADER_TOTAL_COUNT, String.valueOf(page.getTotal()));
+        if (page.getNextCursor() != null) {
+            response.header(ApplicationConstants.HEADER_NEXT_CURSOR, page.getNextCursor());
+        }
+        return response.body(page.getEmployees());
+    }
 }
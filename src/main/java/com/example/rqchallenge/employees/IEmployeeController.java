@@ -1,8 +1,16 @@
 package com.example.rqchallenge.employees;
 
+import com.example.rqchallenge.employees.dto.BatchLookupRequest;
+import com.example.rqchallenge.employees.dto.BatchLookupResponse;
+import com.example.rqchallenge.employees.dto.BulkDeleteRequest;
+import com.example.rqchallenge.employees.dto.BulkWriteResponse;
 import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.EmployeePageRequest;
+import com.example.rqchallenge.employees.dto.EmployeeStatisticsResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
@@ -11,25 +19,52 @@ import java.util.Map;
 @RestController
 public interface IEmployeeController {
 
+    /**
+     * Returns every employee, or one page of them when any of {@code limit}, {@code cursor},
+     * {@code sort} ({@code salary}, {@code name} or {@code age}) or {@code order} ({@code asc} or
+     * {@code desc}) is given. Paged responses carry the total in {@code X-Total-Count} and, unless
+     * they are the last page, the cursor of the next one in {@code X-Next-Cursor}.
+     */
     @GetMapping()
-    ResponseEntity<List<Employee>> getAllEmployees() throws IOException;
+    ResponseEntity<List<Employee>> getAllEmployees(EmployeePageRequest pageRequest) throws IOException;
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    ResponseEntity<StreamingResponseBody> streamAllEmployees();
+
+    /**
+     * Returns the employees whose name contains the search string, paged like {@link #getAllEmployees}.
+     */
     @GetMapping("/search/{searchString}")
-    ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString);
+    ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString, EmployeePageRequest pageRequest);
 
     @GetMapping("/{id}")
     ResponseEntity<Employee> getEmployeeById(@PathVariable String id);
 
+    @PostMapping("/batch")
+    ResponseEntity<BatchLookupResponse> getEmployeesByIds(@RequestBody BatchLookupRequest batchLookupRequest);
+
     @GetMapping("/highestSalary")
     ResponseEntity<Integer> getHighestSalaryOfEmployees();
 
     @GetMapping("/topTenHighestEarningEmployeeNames")
     ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames();
 
+    @GetMapping("/topHighestEarning")
+    ResponseEntity<List<String>> getTopHighestEarningEmployeeNames(@RequestParam(defaultValue = "10") int k);
+
+    @GetMapping("/stats")
+    ResponseEntity<EmployeeStatisticsResponse> getEmployeeStatistics();
+
     @PostMapping()
     ResponseEntity<Employee> createEmployee(@RequestBody Map<String, Object> employeeInput);
 
     @DeleteMapping("/{id}")
     ResponseEntity<String> deleteEmployeeById(@PathVariable String id);
 
+    @PostMapping("/bulk")
+    ResponseEntity<BulkWriteResponse> createEmployees(@RequestBody List<Map<String, Object>> employeeInputs);
+
+    @PostMapping("/bulk/delete")
+    ResponseEntity<BulkWriteResponse> deleteEmployeesByIds(@RequestBody BulkDeleteRequest bulkDeleteRequest);
+
 }
@@ -0,0 +1,43 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public interface IReactiveEmployeeController {
+
+    @GetMapping()
+    Mono<ResponseEntity<List<Employee>>> getAllEmployees();
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    Flux<Employee> streamAllEmployees();
+
+    @GetMapping("/search/{searchString}")
+    Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString);
+
+    @GetMapping("/{id}")
+    Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id);
+
+    @GetMapping("/highestSalary")
+    Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees();
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames();
+
+    @GetMapping("/topHighestEarning")
+    Mono<ResponseEntity<List<String>>> getTopHighestEarningEmployeeNames(@RequestParam(defaultValue = "10") int k);
+
+    @PostMapping()
+    Mono<ResponseEntity<Employee>> createEmployee(@RequestBody Map<String, Object> employeeInput);
+
+    @DeleteMapping("/{id}")
+    Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id);
+
+}
@@ -0,0 +1,74 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.exception.EmployeeNotFoundException;
+import com.example.rqchallenge.employees.service.IReactiveEmployeeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Same API as {@link EmployeeControllerImpl}, but every handler returns a publisher so the servlet thread
+ * is released while the external API is being called. Errors are still mapped by the controller advice.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v2")
+public class ReactiveEmployeeControllerImpl implements IReactiveEmployeeController {
+
+    private final IReactiveEmployeeService iReactiveEmployeeService;
+
+    @Override
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return iReactiveEmployeeService.getAllEmployees().collectList().map(ResponseEntity::ok);
+    }
+
+    @Override
+    public Flux<Employee> streamAllEmployees() {
+        return iReactiveEmployeeService.getAllEmployees();
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(String searchString) {
+        return iReactiveEmployeeService.getEmployeesByNameSearch(searchString).collectList().map(ResponseEntity::ok);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Employee>> getEmployeeById(String id) {
+        return iReactiveEmployeeService.getEmployeeById(id)
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException(id)))
+                .map(ResponseEntity::ok);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return iReactiveEmployeeService.getHighestSalaryOfEmployees().map(ResponseEntity::ok);
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return iReactiveEmployeeService.getTopTenHighestEarningEmployeeNames().collectList().map(ResponseEntity::ok);
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> getTopHighestEarningEmployeeNames(int k) {
+        return iReactiveEmployeeService.getTopHighestEarningEmployeeNames(k).collectList().map(ResponseEntity::ok);
+    }
+
+    @Override
+    public Mono<ResponseEntity<Employee>> createEmployee(Map<String, Object> employeeInput) {
+        return iReactiveEmployeeService.createEmployee(employeeInput).map(employee -> new ResponseEntity<>(employee, HttpStatus.CREATED));
+    }
+
+    @Override
+    public Mono<ResponseEntity<String>> deleteEmployeeById(String id) {
+        return iReactiveEmployeeService.deleteEmployeeById(id).map(ResponseEntity::ok);
+    }
+}
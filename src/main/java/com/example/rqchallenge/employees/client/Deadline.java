@@ -0,0 +1,50 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.filter.RequestFilter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Point in time by which an upstream call has to be answered, measured on the monotonic clock.
+ * A deadline is fixed once per incoming request and then shared by every attempt made for it, so
+ * retries and backoff delays all spend the same budget.
+ */
+public final class Deadline {
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * The deadline {@link RequestFilter} fixed for the request bound to the calling thread, if any.
+     */
+    public static Optional<Deadline> forCurrentRequest() {
+        return Optional.ofNullable(RequestContextHolder.getRequestAttributes())
+                .map(attributes -> (Deadline) attributes.getAttribute(RequestFilter.REQUEST_DEADLINE_KEY, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    /**
+     * Time left before the deadline, never negative.
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[remaining=" + remaining().toMillis() + "ms]";
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.constants.CircuitBreakerNames;
+import com.example.rqchallenge.employees.constants.EmployeesApiPaths;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guards every upstream exchange with the circuit breaker of its endpoint, picked by the URI template
+ * from {@link EmployeesApiPaths}. Errors raised further down the filter chain, 5xx responses and
+ * 429 rate limiting count as failures. While a breaker is open, calls fail fast with
+ * {@link CallNotPermittedException} and never reach the network.
+ */
+public class EmployeeApiCircuitBreakerFilter implements ExchangeFilterFunction {
+
+    private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+    private static final Map<String, String> CIRCUIT_BREAKER_NAMES = Map.of(
+            EmployeesApiPaths.GET_ALL, CircuitBreakerNames.EMPLOYEE_API_GET_ALL,
+            EmployeesApiPaths.GET_BY_ID, CircuitBreakerNames.EMPLOYEE_API_GET_BY_ID,
+            EmployeesApiPaths.CREATE, CircuitBreakerNames.EMPLOYEE_API_CREATE,
+            EmployeesApiPaths.DELETE, CircuitBreakerNames.EMPLOYEE_API_DELETE);
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    public EmployeeApiCircuitBreakerFilter(CircuitBreakerRegistry circuitBreakerRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        // created up front so every breaker shows up in the actuator endpoints before its first call
+        CIRCUIT_BREAKER_NAMES.values().forEach(circuitBreakerRegistry::circuitBreaker);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        final CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(circuitBreakerName(request));
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.error(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+            }
+            final long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnSuccess(response -> recordResponse(circuitBreaker, System.nanoTime() - start, response))
+                    .doOnError(e -> circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e))
+                    .doOnCancel(circuitBreaker::releasePermission);
+        });
+    }
+
+    private void recordResponse(CircuitBreaker circuitBreaker, long durationNanos, ClientResponse response) {
+        if (response == null) {
+            circuitBreaker.releasePermission();
+        } else if (response.statusCode().is5xxServerError() || response.statusCode() == HttpStatus.TOO_MANY_REQUESTS) {
+            circuitBreaker.onError(durationNanos, TimeUnit.NANOSECONDS,
+                    WebClientResponseException.create(response.rawStatusCode(), response.statusCode().getReasonPhrase(), null, null, null));
+        } else {
+            circuitBreaker.onSuccess(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String circuitBreakerName(ClientRequest request) {
+        return request.attribute(URI_TEMPLATE_ATTRIBUTE)
+                .map(uriTemplate -> CIRCUIT_BREAKER_NAMES.get(uriTemplate.toString()))
+                .orElse(CircuitBreakerNames.EMPLOYEE_API_OTHER);
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.constants.EmployeesApiPaths;
+import com.example.rqchallenge.employees.dto.CreateEmployeeRequest;
+import com.example.rqchallenge.employees.dto.CreateEmployeeResponse;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.GenericEmployeeResponse;
+import com.example.rqchallenge.employees.exception.DeadlineExceededException;
+import com.example.rqchallenge.employees.exception.EmployeeApiInternalServerException;
+import com.example.rqchallenge.employees.exception.ExternalApiRedirectException;
+import com.example.rqchallenge.employees.exception.NoDataException;
+import com.example.rqchallenge.employees.util.SingleFlight;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Thin client over the external employees API. Every call is retried with backoff, within the
+ * limits of a {@link RetryBudget} shared by all calls, and the response envelope is checked before
+ * the payload is handed back to the caller. Concurrent reads of the same resource share one
+ * upstream call, so a burst of misses cannot stampede the API. Calls rejected by an open circuit
+ * breaker are never retried. Upstream failures reach the caller as
+ * {@link EmployeeApiInternalServerException}, whether or not they were retried.
+ * <p>
+ * Every call runs against a {@link Deadline}: the one in the subscriber context if there is one,
+ * else the one {@link Deadline#forCurrentRequest() fixed for the current request}, else the configured default.
+ * Each attempt is cut off at the time remaining, no retry is scheduled unless its backoff, at the
+ * longest its jitter allows, ends before the deadline, and the call fails with {@link DeadlineExceededException} once the deadline is
+ * gone. Coalesced reads run under the deadline of the caller that started them.
+ * <p>
+ * Reads may additionally be hedged by {@link RequestHedger}; writes never are.
+ */
+@Component
+public class EmployeeApiClient {
+
+    private static final String ALL_EMPLOYEES = "*";
+    private static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(5);
+    private static final int MAX_RETRIES = 3;
+    private static final Duration DEFAULT_MIN_BACKOFF = Duration.of(2, ChronoUnit.SECONDS);
+    private static final double BACKOFF_JITTER = 0.5;
+    private static final ParameterizedTypeReference<GenericEmployeeResponse<Employee>> EMPLOYEE_RESPONSE = new ParameterizedTypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<GenericEmployeeResponse<CreateEmployeeResponse>> CREATE_EMPLOYEE_RESPONSE = new ParameterizedTypeReference<>() {
+    };
+    private static final ParameterizedTypeReference<GenericEmployeeResponse<Object>> DELETE_EMPLOYEE_RESPONSE = new ParameterizedTypeReference<>() {
+    };
+
+    private final WebClient webClient;
+    private final RetryBudget retryBudget;
+    private final RequestHedger requestHedger;
+    private final RetryMetrics retryMetrics;
+    private final Duration defaultDeadline;
+    private final Duration minBackoff;
+    private final SingleFlight<String, List<Employee>> allEmployeesCalls = new SingleFlight<>();
+    private final SingleFlight<String, Employee> employeeByIdCalls = new SingleFlight<>();
+
+    @Autowired
+    public EmployeeApiClient(WebClient webClient, RetryBudget retryBudget, RequestHedger requestHedger, RetryMetrics retryMetrics,
+                             @Value("${employees.request.deadline:5s}") Duration defaultDeadline,
+                             @Value("${employees.retry.min-backoff:2s}") Duration minBackoff) {
+        this.webClient = webClient;
+        this.retryBudget = retryBudget;
+        this.requestHedger = requestHedger;
+        this.retryMetrics = retryMetrics;
+        this.defaultDeadline = defaultDeadline;
+        this.minBackoff = minBackoff;
+    }
+
+    public EmployeeApiClient(WebClient webClient, RetryBudget retryBudget, RequestHedger requestHedger, RetryMetrics retryMetrics,
+                             Duration defaultDeadline) {
+        this(webClient, retryBudget, requestHedger, retryMetrics, defaultDeadline, DEFAULT_MIN_BACKOFF);
+    }
+
+    public EmployeeApiClient(WebClient webClient, RetryBudget retryBudget, RequestHedger requestHedger) {
+        this(webClient, retryBudget, requestHedger, new RetryMetrics(), DEFAULT_DEADLINE);
+    }
+
+    public EmployeeApiClient(WebClient webClient, RetryBudget retryBudget) {
+        this(webClient, retryBudget, new RequestHedger());
+    }
+
+    public EmployeeApiClient(WebClient webClient) {
+        this(webClient, new RetryBudget());
+    }
+
+    public Mono<List<Employee>> getAllEmployees() {
+        return allEmployeesCalls.execute(ALL_EMPLOYEES, this::fetchAllEmployees);
+    }
+
+    public Mono<Employee> getEmployeeById(String id) {
+        return employeeByIdCalls.execute(id, () -> fetchEmployeeById(id));
+    }
+
+    public Mono<CreateEmployeeResponse> createEmployee(CreateEmployeeRequest createEmployeeRequest) {
+        return exchange(EmployeesApiPaths.CREATE, retrieve(webClient.post().uri(EmployeesApiPaths.CREATE)
+                .body(Mono.just(createEmployeeRequest), CreateEmployeeRequest.class), CREATE_EMPLOYEE_RESPONSE))
+                .switchIfEmpty(Mono.error(EmployeeApiInternalServerException::new))
+                .map(employeeResponse -> {
+                    employeeResponseErrorHandler(employeeResponse);
+                    return employeeResponse.getData();
+                });
+    }
+
+    public Mono<String> deleteEmployeeById(String id) {
+        return exchange(EmployeesApiPaths.DELETE, retrieve(webClient.delete().uri(EmployeesApiPaths.DELETE, id), DELETE_EMPLOYEE_RESPONSE))
+                .switchIfEmpty(Mono.error(EmployeeApiInternalServerException::new))
+                .map(deleteResponse -> {
+                    employeeResponseErrorHandler(deleteResponse);
+                    return String.valueOf(deleteResponse.getData());
+                });
+    }
+
+    private Mono<List<Employee>> fetchAllEmployees() {
+        return exchange(EmployeesApiPaths.GET_ALL, requestHedger.hedge(EmployeeListDecoder.decode(webClient.get().uri(EmployeesApiPaths.GET_ALL)
+                .retrieve().bodyToFlux(DataBuffer.class))))
+                .map(employeeListResponse -> {
+                    employeeResponseErrorHandler(employeeListResponse);
+                    return employeeListResponse.getData();
+                });
+    }
+
+    private Mono<Employee> fetchEmployeeById(String id) {
+        return exchange(EmployeesApiPaths.GET_BY_ID, requestHedger.hedge(retrieve(webClient.get().uri(EmployeesApiPaths.GET_BY_ID, id), EMPLOYEE_RESPONSE)))
+                .switchIfEmpty(Mono.error(EmployeeApiInternalServerException::new))
+                .map(employeeResponse -> {
+                    employeeResponseErrorHandler(employeeResponse);
+                    return employeeResponse.getData();
+                });
+    }
+
+    private static <T> Mono<GenericEmployeeResponse<T>> retrieve(WebClient.RequestHeadersSpec<?> request,
+                                                                 ParameterizedTypeReference<GenericEmployeeResponse<T>> responseType) {
+        return request.retrieve().bodyToMono(responseType);
+    }
+
+    private <T> Mono<T> exchange(String path, Mono<T> attempt) {
+        return Mono.deferContextual(context -> {
+            final Deadline deadline = resolveDeadline(context);
+            // only the first attempt feeds the budget; retries resubscribe to the attempt alone
+            retryBudget.recordRequest();
+            return Mono.defer(() -> attemptWithin(attempt, deadline))
+                    .retryWhen(retrySpec(path, deadline))
+                    .onErrorMap(EmployeeApiClient::isUnmappedError, error -> new EmployeeApiInternalServerException(error.getMessage()))
+                    .timeout(deadline.remaining(), Mono.error(DeadlineExceededException::new));
+        });
+    }
+
+    private <T> Mono<T> attemptWithin(Mono<T> attempt, Deadline deadline) {
+        if (deadline.isExpired()) {
+            return Mono.error(new DeadlineExceededException());
+        }
+        return attempt.timeout(deadline.remaining(), Mono.error(DeadlineExceededException::new));
+    }
+
+    private Deadline resolveDeadline(ContextView context) {
+        return context.<Deadline>getOrEmpty(Deadline.class)
+                .or(Deadline::forCurrentRequest)
+                .orElseGet(() -> Deadline.after(defaultDeadline));
+    }
+
+    private Retry retrySpec(String path, Deadline deadline) {
+        return Retry.from(retrySignals -> retrySignals.concatMap(retrySignal -> {
+            final Throwable failure = retrySignal.failure();
+            final long retry = retrySignal.totalRetries();
+            if (failure instanceof CallNotPermittedException || failure instanceof DeadlineExceededException) {
+                return Mono.error(failure);
+            }
+            if (retry >= MAX_RETRIES) {
+                retryMetrics.recordExhausted(path);
+                return Mono.error(new EmployeeApiInternalServerException(failure.getMessage()));
+            }
+            // the budget is asked last, so a token is only spent on a retry that is actually sent
+            if (deadline.remaining().compareTo(longestBackoff(retry)) <= 0 || !retryBudget.tryAcquireRetry()) {
+                return Mono.error(failure);
+            }
+            retryMetrics.recordRetry(path);
+            return Mono.delay(backoff(retry));
+        }));
+    }
+
+    /**
+     * Delay before retry number {@code retry}, counting from zero: an exponential backoff from
+     * {@code minBackoff}, moved by up to {@link #BACKOFF_JITTER} of itself but never below {@code minBackoff}.
+     */
+    private Duration backoff(long retry) {
+        final long exponential = exponentialBackoff(retry);
+        final long jitter = (long) (exponential * BACKOFF_JITTER);
+        final long lowest = Math.max(minBackoff.toMillis(), exponential - jitter);
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(lowest, exponential + jitter + 1));
+    }
+
+    /**
+     * Longest delay before retry number {@code retry}: the exponential backoff plus the most its jitter can add.
+     */
+    private Duration longestBackoff(long retry) {
+        final long exponential = exponentialBackoff(retry);
+        return Duration.ofMillis(exponential + (long) (exponential * BACKOFF_JITTER));
+    }
+
+    private long exponentialBackoff(long retry) {
+        return minBackoff.toMillis() << Math.min(retry, MAX_RETRIES);
+    }
+
+    /**
+     * Whether an upstream failure still has to be turned into {@link EmployeeApiInternalServerException}.
+     * Retries that run out do that themselves, but a failure whose retry is refused (budget, deadline)
+     * comes out of the retry as it was raised, e.g. as a {@code WebClientRequestException} when the
+     * connection is refused.
+     */
+    private static boolean isUnmappedError(Throwable error) {
+        return !(error instanceof EmployeeApiInternalServerException)
+                && !(error instanceof ExternalApiRedirectException)
+                && !(error instanceof NoDataException)
+                && !(error instanceof CallNotPermittedException)
+                && !(error instanceof DeadlineExceededException);
+    }
+
+    private <T> void employeeResponseErrorHandler(final GenericEmployeeResponse<T> employeeResponse) {
+        if (employeeResponse == null || !"success".equals(employeeResponse.getStatus())) {
+            throw new EmployeeApiInternalServerException();
+        }
+        if (Optional.ofNullable(employeeResponse.getData()).isEmpty()) {
+            throw new NoDataException();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.GenericEmployeeResponse;
+import com.example.rqchallenge.employees.exception.EmployeeApiInternalServerException;
+import com.example.rqchallenge.employees.util.JsonMapperUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental decoder for the employee list envelope {@code {"status": ..., "data": [...], "message": ...}}.
+ * <p>
+ * Body chunks are fed to Jackson's non-blocking parser as they arrive, and every element of the
+ * {@code data} array is bound to an {@link Employee} as soon as its closing brace has been read. Neither
+ * the raw body nor an intermediate tree of maps is ever held, so peak memory stays close to the decoded
+ * list itself, and no in-memory codec limit applies. The envelope's status and message are handed back
+ * as they were sent, with {@code null} data when the array is missing, for the caller to check.
+ * <p>
+ * One instance decodes one body and relies on Reactor delivering chunks one at a time.
+ */
+class EmployeeListDecoder {
+
+    private static final String STATUS_FIELD = "status";
+    private static final String DATA_FIELD = "data";
+    private static final String MESSAGE_FIELD = "message";
+
+    private final ObjectMapper objectMapper = JsonMapperUtil.objectMapper();
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    private int depth;
+    private String envelopeField;
+    private String status;
+    private String message;
+    private final List<Employee> employees = new ArrayList<>();
+    private boolean dataPresent;
+    private boolean inDataArray;
+    private TokenBuffer element;
+    private int elementDepth;
+
+    private EmployeeListDecoder() {
+        try {
+            parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Decodes the body lazily; every subscription decodes afresh, so the result can be retried.
+     * Chunks are released as soon as they have been fed to the parser.
+     */
+    static Mono<GenericEmployeeResponse<List<Employee>>> decode(Flux<DataBuffer> body) {
+        return Mono.defer(() -> {
+            final EmployeeListDecoder decoder = new EmployeeListDecoder();
+            return body.doOnNext(decoder::feed).then(Mono.fromCallable(decoder::endOfInput));
+        });
+    }
+
+    private void feed(DataBuffer buffer) {
+        try {
+            final byte[] chunk = new byte[buffer.readableByteCount()];
+            buffer.read(chunk);
+            feeder.feedInput(chunk, 0, chunk.length);
+            drain();
+        } catch (IOException e) {
+            throw new EmployeeApiInternalServerException("Malformed employee list: " + e.getMessage());
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private GenericEmployeeResponse<List<Employee>> endOfInput() {
+        try {
+            feeder.endOfInput();
+            drain();
+        } catch (IOException e) {
+            throw new EmployeeApiInternalServerException("Malformed employee list: " + e.getMessage());
+        }
+        if (depth != 0 || element != null) {
+            throw new EmployeeApiInternalServerException("Truncated employee list");
+        }
+        return new GenericEmployeeResponse<>(status, message, dataPresent ? employees : null);
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            onToken(token);
+        }
+    }
+
+    /**
+     * Tracks where the parser is in the envelope and binds an employee whenever an element of the
+     * data array has been read completely.
+     */
+    private void onToken(JsonToken token) throws IOException {
+        if (element != null) {
+            element.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                elementDepth++;
+            } else if (token.isStructEnd() && --elementDepth == 0) {
+                employees.add(objectMapper.readValue(element.asParser(objectMapper), Employee.class));
+                element = null;
+            }
+            return;
+        }
+        switch (token) {
+            case START_OBJECT:
+            case START_ARRAY:
+                if (inDataArray && depth == 2 && token == JsonToken.START_OBJECT) {
+                    element = new TokenBuffer(objectMapper, false);
+                    element.copyCurrentEvent(parser);
+                    elementDepth = 1;
+                    return;
+                }
+                if (depth == 1 && DATA_FIELD.equals(envelopeField) && token == JsonToken.START_ARRAY) {
+                    dataPresent = true;
+                    inDataArray = true;
+                }
+                depth++;
+                break;
+            case END_OBJECT:
+            case END_ARRAY:
+                depth--;
+                if (depth == 1) {
+                    inDataArray = false;
+                }
+                break;
+            case FIELD_NAME:
+                if (depth == 1) {
+                    envelopeField = parser.getCurrentName();
+                }
+                break;
+            case VALUE_STRING:
+                if (depth == 1 && STATUS_FIELD.equals(envelopeField)) {
+                    status = parser.getText();
+                } else if (depth == 1 && MESSAGE_FIELD.equals(envelopeField)) {
+                    message = parser.getText();
+                }
+                break;
+            default:
+                // scalars elsewhere in the envelope, and non-object array elements, carry no employees
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.rqchallenge.employees.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hedges idempotent upstream reads against slow responses. When an attempt has not answered within
+ * the configured percentile of recent response times, a second identical request is sent; whichever
+ * answers first wins and the other one is cancelled. A failed attempt does not win: the call only
+ * fails once both attempts have, with the error of the first one, and a first attempt that fails
+ * before the hedge is sent is not hedged at all. Hedges draw from a token budget of the same kind
+ * as {@link RetryBudget}, so they never exceed {@code max-rate} of the hedged requests and cannot
+ * double the load on an already slow upstream.
+ * <p>
+ * Until enough response times have been seen, the hedge delay is the configured maximum.
+ */
+@Component
+public class RequestHedger implements MeterBinder {
+
+    private static final int SAMPLE_SIZE = 256;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final int HEDGE_BURST = 10;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final RetryBudget hedgeBudget;
+    private final AtomicLongArray latencySamples = new AtomicLongArray(SAMPLE_SIZE);
+    private final AtomicLong sampleCount = new AtomicLong();
+    private final AtomicLong hedgesFired = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+    private volatile long hedgeDelayNanos;
+
+    @Autowired
+    public RequestHedger(@Value("${employees.hedging.enabled:false}") boolean enabled,
+                         @Value("${employees.hedging.percentile:0.95}") double percentile,
+                         @Value("${employees.hedging.min-delay:20ms}") Duration minDelay,
+                         @Value("${employees.hedging.max-delay:2s}") Duration maxDelay,
+                         @Value("${employees.hedging.max-rate:0.1}") double maxRate) {
+        if (percentile <= 0 || percentile > 1 || minDelay.compareTo(maxDelay) > 0) {
+            throw new IllegalArgumentException("Hedging needs a percentile in (0, 1] and min-delay not above max-delay");
+        }
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelayNanos = minDelay.toNanos();
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.hedgeBudget = new RetryBudget(maxRate, HEDGE_BURST);
+        this.hedgeDelayNanos = maxDelayNanos;
+    }
+
+    /**
+     * A hedger that never hedges.
+     */
+    public RequestHedger() {
+        this(false, 0.95, Duration.ofMillis(20), Duration.ofSeconds(2), 0.1);
+    }
+
+    /**
+     * Wraps a cold, idempotent request so that it is sent a second time when the first attempt is slow.
+     * Every subscription to the returned publisher is a fresh hedged attempt.
+     */
+    public <T> Mono<T> hedge(Mono<T> attempt) {
+        if (!enabled) {
+            return attempt;
+        }
+        return Mono.defer(() -> {
+            hedgeBudget.recordRequest();
+            final long start = System.nanoTime();
+            final AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            final Sinks.One<Boolean> primaryFailed = Sinks.one();
+            // a cancelled primary still tells us the upstream took at least this long
+            final Mono<T> primary = attempt
+                    .doOnSuccess(value -> recordLatency(System.nanoTime() - start))
+                    .doOnCancel(() -> recordLatency(System.nanoTime() - start))
+                    .doOnError(e -> {
+                        primaryError.set(e);
+                        primaryFailed.tryEmitValue(Boolean.TRUE);
+                    });
+            final Mono<T> backup = Mono.delay(Duration.ofNanos(hedgeDelayNanos))
+                    .takeUntilOther(primaryFailed.asMono())
+                    .flatMap(tick -> {
+                        if (!hedgeBudget.tryAcquireRetry()) {
+                            return Mono.empty();
+                        }
+                        hedgesFired.incrementAndGet();
+                        return attempt.doOnSuccess(value -> hedgesWon.incrementAndGet());
+                    });
+            // without a value from either attempt, answer as the primary did: with its error or empty
+            return Mono.firstWithValue(primary, backup)
+                    .onErrorResume(NoSuchElementException.class, e -> Mono.justOrEmpty(primaryError.get()).flatMap(Mono::error));
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getHedgeDelay() {
+        return Duration.ofNanos(hedgeDelayNanos);
+    }
+
+    public long getHedgesFired() {
+        return hedgesFired.get();
+    }
+
+    public long getHedgesWon() {
+        return hedgesWon.get();
+    }
+
+    private void recordLatency(long latencyNanos) {
+        final long count = sampleCount.getAndIncrement();
+        latencySamples.set((int) (count % SAMPLE_SIZE), latencyNanos);
+        if ((count + 1) % RECOMPUTE_EVERY == 0) {
+            hedgeDelayNanos = percentileDelay((int) Math.min(count + 1, SAMPLE_SIZE));
+        }
+    }
+
+    private long percentileDelay(int samples) {
+        final long[] sorted = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            sorted[i] = latencySamples.get(i);
+        }
+        Arrays.sort(sorted);
+        final long delay = sorted[Math.max(0, (int) Math.ceil(percentile * samples) - 1)];
+        return Math.min(maxDelayNanos, Math.max(minDelayNanos, delay));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employees.hedging.hedges", hedgesFired, AtomicLong::get)
+                .description("Hedged requests sent to the Employees API")
+                .tag("outcome", "fired")
+                .register(registry);
+        FunctionCounter.builder("employees.hedging.hedges", hedgesWon, AtomicLong::get)
+                .description("Hedged requests that answered before the original attempt")
+                .tag("outcome", "won")
+                .register(registry);
+        TimeGauge.builder("employees.hedging.delay", this, TimeUnit.NANOSECONDS, hedger -> hedger.hedgeDelayNanos)
+                .description("Time an attempt may take before it is hedged")
+                .register(registry);
+    }
+}
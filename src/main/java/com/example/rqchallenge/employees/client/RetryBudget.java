@@ -0,0 +1,88 @@
+package com.example.rqchallenge.employees.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Global budget that caps upstream retries as a share of upstream requests, shared by every call of
+ * the client. Each request deposits {@code ratio} of a token and each retry spends a whole one, so
+ * over time retries stay within {@code ratio} of the request volume. The balance never exceeds
+ * {@code maxTokens}, which bounds the burst allowed after a quiet period. When the upstream is down
+ * the budget drains and requests fail after their first attempt instead of each waiting out the
+ * full backoff schedule.
+ */
+@Component
+public class RetryBudget implements MeterBinder {
+
+    private static final double DEFAULT_RATIO = 0.2;
+    private static final int DEFAULT_MAX_TOKENS = 10;
+    // balances are kept in thousandths of a token so deposits can stay integral
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final AtomicLong retriesGranted = new AtomicLong();
+    private final AtomicLong retriesDenied = new AtomicLong();
+
+    @Autowired
+    public RetryBudget(@Value("${employees.retry-budget.ratio:0.2}") double ratio,
+                       @Value("${employees.retry-budget.max-tokens:10}") int maxTokens) {
+        if (ratio < 0 || maxTokens < 1) {
+            throw new IllegalArgumentException("Retry budget needs a non-negative ratio and at least one token");
+        }
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.maxBalance = maxTokens * SCALE;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    public RetryBudget() {
+        this(DEFAULT_RATIO, DEFAULT_MAX_TOKENS);
+    }
+
+    public void recordRequest() {
+        balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    /**
+     * Spends one token for a retry, or returns {@code false} when the budget is exhausted.
+     */
+    public boolean tryAcquireRetry() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                retriesDenied.incrementAndGet();
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        retriesGranted.incrementAndGet();
+        return true;
+    }
+
+    public double getAvailableTokens() {
+        return (double) balance.get() / SCALE;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employees.retry.budget.tokens", this, RetryBudget::getAvailableTokens)
+                .description("Retries the budget currently allows")
+                .register(registry);
+        FunctionCounter.builder("employees.retry.budget.retries", retriesGranted, AtomicLong::get)
+                .description("Retries the budget allowed or refused")
+                .tag("outcome", "granted")
+                .register(registry);
+        FunctionCounter.builder("employees.retry.budget.retries", retriesDenied, AtomicLong::get)
+                .description("Retries the budget allowed or refused")
+                .tag("outcome", "denied")
+                .register(registry);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.constants.EmployeesApiPaths;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts, per Employees API path template, the retries the client sends and the calls that still fail
+ * after their last retry. Retries that the {@link RetryBudget} turned down are counted there instead.
+ */
+@Component
+public class RetryMetrics implements MeterBinder {
+
+    private final Map<String, AtomicLong> retries = countersPerPath();
+    private final Map<String, AtomicLong> exhaustedRetries = countersPerPath();
+
+    public void recordRetry(String path) {
+        retries.get(path).incrementAndGet();
+    }
+
+    public void recordExhausted(String path) {
+        exhaustedRetries.get(path).incrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        retries.forEach((path, count) -> FunctionCounter.builder("employees.api.retries", count, AtomicLong::get)
+                .description("Retries sent to the Employees API")
+                .tag("uri", path)
+                .register(registry));
+        exhaustedRetries.forEach((path, count) -> FunctionCounter.builder("employees.api.retries.exhausted", count, AtomicLong::get)
+                .description("Employees API calls that failed after their last retry")
+                .tag("uri", path)
+                .register(registry));
+    }
+
+    private static Map<String, AtomicLong> countersPerPath() {
+        return Map.of(
+                EmployeesApiPaths.GET_ALL, new AtomicLong(),
+                EmployeesApiPaths.GET_BY_ID, new AtomicLong(),
+                EmployeesApiPaths.CREATE, new AtomicLong(),
+                EmployeesApiPaths.DELETE, new AtomicLong());
+    }
+}
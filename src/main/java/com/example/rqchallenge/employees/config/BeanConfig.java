@@ -1,36 +1,71 @@
 package com.example.rqchallenge.employees.config;
 
+import com.example.rqchallenge.employees.client.EmployeeApiCircuitBreakerFilter;
 import com.example.rqchallenge.employees.exception.EmployeeApiInternalServerException;
 import com.example.rqchallenge.employees.exception.ExternalApiRedirectException;
+import com.example.rqchallenge.employees.util.JsonMapperUtil;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.web.reactive.client.MetricsWebClientCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
 import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
-import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @EnableCaching
 @Configuration
+@EnableConfigurationProperties(EmployeeApiHttpClientProperties.class)
 public class BeanConfig {
 
     @Value("${external.api.base.url}")
     private String externalApiBaseUrl;
 
+    /**
+     * Connection pool dedicated to the external API. Its active, idle and pending connection counts
+     * are published as {@code reactor.netty.connection.provider.*} metrics.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider employeeApiConnectionProvider(EmployeeApiHttpClientProperties properties) {
+        return ConnectionProvider.builder("employee-api")
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictInBackground())
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient webClient() {
-        final int requestAndResponseTimeoutMills = 10000;
-        final HttpClient httpClient = HttpClient.create()
+    public WebClient webClient(CircuitBreakerRegistry circuitBreakerRegistry, ConnectionProvider employeeApiConnectionProvider,
+                               EmployeeApiHttpClientProperties properties, MetricsWebClientCustomizer metricsWebClientCustomizer) {
+        final int requestAndResponseTimeoutMills = (int) properties.getTimeout().toMillis();
+        final HttpClient httpClient = HttpClient.create(employeeApiConnectionProvider)
+                .protocol(properties.getProtocols())
+                .keepAlive(properties.isKeepAlive())
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, requestAndResponseTimeoutMills)
-                .responseTimeout(Duration.ofMillis(requestAndResponseTimeoutMills))
+                .responseTimeout(properties.getTimeout())
                 .doOnConnected(connection ->
                         connection.addHandlerLast(new ReadTimeoutHandler(requestAndResponseTimeoutMills, TimeUnit.MILLISECONDS))
                                 .addHandlerLast(new WriteTimeoutHandler(requestAndResponseTimeoutMills, TimeUnit.MILLISECONDS)));
@@ -38,10 +73,36 @@ public class BeanConfig {
         return WebClient.builder()
                 .baseUrl(externalApiBaseUrl)
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(JsonMapperUtil.objectMapper()));
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(JsonMapperUtil.objectMapper()));
+                })
+                // outermost filter: times every exchange as http.client.requests, tagged by path template, status and outcome
+                .apply(metricsWebClientCustomizer::customize)
+                .filter(new EmployeeApiCircuitBreakerFilter(circuitBreakerRegistry))
                 .filter(webClientErrorHandler())
                 .build();
     }
 
+    @Bean
+    public RegistryEventConsumer<CircuitBreaker> circuitBreakerTransitionLogger() {
+        return new RegistryEventConsumer<>() {
+            @Override
+            public void onEntryAddedEvent(EntryAddedEvent<CircuitBreaker> entryAddedEvent) {
+                entryAddedEvent.getAddedEntry().getEventPublisher().onStateTransition(event ->
+                        log.warn("Circuit breaker {} moved {}", event.getCircuitBreakerName(), event.getStateTransition()));
+            }
+
+            @Override
+            public void onEntryRemovedEvent(EntryRemovedEvent<CircuitBreaker> entryRemoveEvent) {
+            }
+
+            @Override
+            public void onEntryReplacedEvent(EntryReplacedEvent<CircuitBreaker> entryReplacedEvent) {
+            }
+        };
+    }
+
     private ExchangeFilterFunction webClientErrorHandler() {
         return ExchangeFilterFunction.ofResponseProcessor(clientResponse -> {
             if (clientResponse.statusCode().is5xxServerError()) {
@@ -0,0 +1,31 @@
+package com.example.rqchallenge.employees.config;
+
+import com.example.rqchallenge.employees.constants.CacheNames;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(EmployeeCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(EmployeeCacheProperties employeeCacheProperties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheSpecification(employeeCacheProperties.getDefaultSpec());
+        employeeCacheProperties.getSpecs().forEach((cacheName, spec) -> {
+            log.info("Cache {} configured with spec [{}]", cacheName, spec);
+            cacheManager.registerCustomCache(cacheName, Caffeine.from(spec).build());
+        });
+        // caches that exist at startup get their statistics bound as cache.* metrics, so create every named one up front
+        CacheNames.ALL.stream()
+                .filter(cacheName -> !employeeCacheProperties.getSpecs().containsKey(cacheName))
+                .forEach(cacheName -> cacheManager.registerCustomCache(cacheName, Caffeine.from(employeeCacheProperties.getDefaultSpec()).build()));
+        return cacheManager;
+    }
+}
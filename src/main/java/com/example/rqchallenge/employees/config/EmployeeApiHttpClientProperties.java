@@ -0,0 +1,30 @@
+package com.example.rqchallenge.employees.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import reactor.netty.http.HttpProtocol;
+
+import java.time.Duration;
+
+/**
+ * Connection settings for the client of the external employees API, e.g.
+ * {@code employees.http-client.max-connections=100} or {@code employees.http-client.protocols=H2,HTTP11}.
+ * {@code H2} is negotiated over TLS and falls back to HTTP/1.1 when the server does not offer it;
+ * {@code H2C} is HTTP/2 over plain text and only works against servers that support it.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.http-client")
+public class EmployeeApiHttpClientProperties {
+
+    private Duration timeout = Duration.ofSeconds(10);
+    private boolean keepAlive = true;
+    private HttpProtocol[] protocols = {HttpProtocol.HTTP11};
+    private int maxConnections = 50;
+    private int pendingAcquireMaxCount = 500;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    private Duration evictInBackground = Duration.ofSeconds(30);
+}
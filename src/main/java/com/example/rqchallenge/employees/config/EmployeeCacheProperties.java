@@ -0,0 +1,22 @@
+package com.example.rqchallenge.employees.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Caffeine specifications for the application caches, e.g.
+ * {@code employees.cache.specs[employeesSearch]=maximumSize=10000,expireAfterAccess=10m,recordStats}.
+ * Caches without an entry of their own fall back to {@link #defaultSpec}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employees.cache")
+public class EmployeeCacheProperties {
+
+    private String defaultSpec = "maximumSize=1000,expireAfterWrite=10m,recordStats";
+    private Map<String, String> specs = new HashMap<>();
+}
@@ -7,4 +7,11 @@ public class ApplicationConstants {
     public static final String FIELD_EMPLOYEE_SALARY = "salary";
     public static final String FIELD_EMPLOYEE_AGE = "age";
     public static final String FIELD_EMPLOYEE_PROFILE_IMAGE = "profile_image";
+    public static final int BATCH_LOOKUP_MAX_IDS = 500;
+    public static final int BATCH_LOOKUP_UPSTREAM_CONCURRENCY = 8;
+    public static final int BULK_WRITE_MAX_ITEMS = 5000;
+    public static final int PAGE_DEFAULT_LIMIT = 100;
+    public static final int PAGE_MAX_LIMIT = 1000;
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+    public static final String HEADER_TOTAL_COUNT = "X-Total-Count";
 }
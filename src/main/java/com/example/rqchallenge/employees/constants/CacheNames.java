@@ -0,0 +1,13 @@
+package com.example.rqchallenge.employees.constants;
+
+import java.util.List;
+
+public class CacheNames {
+
+    public static final String EMPLOYEES_SEARCH = "employeesSearch";
+    public static final String EMPLOYEES_HIGHEST_SALARY = "employeesHighestSalary";
+    public static final String EMPLOYEES_TOP_TEN_EARNERS = "employeesTopTenEarners";
+    public static final String EMPLOYEES_BY_ID_MISSES = "employeesByIdMisses";
+
+    public static final List<String> ALL = List.of(EMPLOYEES_SEARCH, EMPLOYEES_HIGHEST_SALARY, EMPLOYEES_TOP_TEN_EARNERS, EMPLOYEES_BY_ID_MISSES);
+}
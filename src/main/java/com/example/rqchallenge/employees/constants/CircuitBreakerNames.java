@@ -0,0 +1,10 @@
+package com.example.rqchallenge.employees.constants;
+
+public class CircuitBreakerNames {
+
+    public static final String EMPLOYEE_API_GET_ALL = "employeeApiGetAll";
+    public static final String EMPLOYEE_API_GET_BY_ID = "employeeApiGetById";
+    public static final String EMPLOYEE_API_CREATE = "employeeApiCreate";
+    public static final String EMPLOYEE_API_DELETE = "employeeApiDelete";
+    public static final String EMPLOYEE_API_OTHER = "employeeApiOther";
+}
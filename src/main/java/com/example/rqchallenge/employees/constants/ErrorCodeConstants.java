@@ -5,6 +5,8 @@ public class ErrorCodeConstants {
     public static final String EMPLOYEE_NOT_FOUND_CODE = "employee.not.found";
     public static final String EMPLOYEE_NO_DATA = "no.data.returned";
     public static final String EXTERNAL_API_SERVER_ERROR = "api.error";
+    public static final String EXTERNAL_API_UNAVAILABLE = "api.unavailable";
+    public static final String EXTERNAL_API_DEADLINE_EXCEEDED = "api.deadline.exceeded";
     public static final String EXTERNAL_API_REDIRECT = "api.redirect";
     public static final String EXTERNAL_API_INVALID_FIELD = "api.invalid.field";
 }
@@ -0,0 +1,15 @@
+package com.example.rqchallenge.employees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLookupError {
+
+    private String id;
+    private String reasonCode;
+    private String description;
+}
@@ -0,0 +1,15 @@
+package com.example.rqchallenge.employees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLookupRequest {
+
+    private List<String> ids;
+}
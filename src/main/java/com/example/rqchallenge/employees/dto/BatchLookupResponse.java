@@ -0,0 +1,20 @@
+package com.example.rqchallenge.employees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a batch lookup: the employees that were found and one error for every id that was not,
+ * both in the order the ids were requested.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchLookupResponse {
+
+    private List<Employee> employees;
+    private List<BatchLookupError> errors;
+}
@@ -0,0 +1,22 @@
+package com.example.rqchallenge.employees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkWriteResponse {
+
+    private int succeeded;
+    private int failed;
+    private List<BulkWriteResult> results;
+
+    public static BulkWriteResponse of(List<BulkWriteResult> results) {
+        final int succeeded = (int) results.stream().filter(BulkWriteResult::isSucceeded).count();
+        return new BulkWriteResponse(succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.rqchallenge.employees.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk write, identified by its position in the request. Failed items carry
+ * a reason code and description instead of an employee.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkWriteResult {
+
+    private int index;
+    private String id;
+    private Employee employee;
+    private String reasonCode;
+    private String description;
+
+    @JsonIgnore
+    public boolean isSucceeded() {
+        return reasonCode == null;
+    }
+}
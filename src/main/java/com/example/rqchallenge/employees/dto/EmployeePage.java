@@ -0,0 +1,20 @@
+package com.example.rqchallenge.employees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a list result. The next cursor is absent on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePage {
+
+    private List<Employee> employees;
+    private int total;
+    private String nextCursor;
+}
@@ -0,0 +1,23 @@
+package com.example.rqchallenge.employees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Paging parameters of a list request, as received. A request without any of them is not paged.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePageRequest {
+
+    private Integer limit;
+    private String cursor;
+    private String sort;
+    private String order;
+
+    public boolean isPaged() {
+        return limit != null || cursor != null || sort != null || order != null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.rqchallenge.employees.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Aggregates over the whole dataset as of one snapshot version.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeStatisticsResponse {
+
+    private long version;
+    private long employeeCount;
+    private ValueStatistics salary;
+    private ValueStatistics age;
+}
@@ -0,0 +1,21 @@
+package com.example.rqchallenge.employees.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of values from {@code from} (inclusive) up to {@code to} (exclusive). The last bucket of a
+ * histogram has no upper bound.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HistogramBucket {
+
+    private int from;
+    private Integer to;
+    private long count;
+}
@@ -0,0 +1,30 @@
+package com.example.rqchallenge.employees.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistics of one employee field over the employees that have it. Order statistics are left out
+ * when there is nothing to order or they are not tracked for the field.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ValueStatistics {
+
+    private long count;
+    private Integer min;
+    private Integer max;
+    private Double average;
+    private Double median;
+    private Map<String, Integer> percentiles;
+    private List<HistogramBucket> histogram;
+}
@@ -0,0 +1,8 @@
+package com.example.rqchallenge.employees.exception;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException() {
+        super("The request deadline passed before the Employees API responded.");
+    }
+}
@@ -4,6 +4,7 @@ import com.example.rqchallenge.employees.constants.ErrorCodeConstants;
 import com.example.rqchallenge.employees.dto.ApiError;
 import com.example.rqchallenge.employees.exception.*;
 import com.example.rqchallenge.employees.filter.RequestFilter;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.netty.handler.timeout.ReadTimeoutException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
@@ -66,6 +67,28 @@ public class ApiControllerAdvice {
         );
     }
 
+    @ExceptionHandler(CallNotPermittedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ApiError> apiUnavailableErrorHandler(CallNotPermittedException ex) {
+        final String requestCorrelationId = getRequestCorrelationId();
+        log.error("Error {}: {} | {}", RequestFilter.REQUEST_CORRELATION_ID_KEY, requestCorrelationId, ex.getMessage());
+        return errorFormatter(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                new ApiError(requestCorrelationId, ErrorCodeConstants.EXTERNAL_API_UNAVAILABLE, "Employees API is temporarily unavailable. Please try again later.")
+        );
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ResponseEntity<ApiError> deadlineExceededErrorHandler(DeadlineExceededException ex) {
+        final String requestCorrelationId = getRequestCorrelationId();
+        log.error("Error {}: {} | {}", RequestFilter.REQUEST_CORRELATION_ID_KEY, requestCorrelationId, ex.getMessage());
+        return errorFormatter(
+                HttpStatus.GATEWAY_TIMEOUT,
+                new ApiError(requestCorrelationId, ErrorCodeConstants.EXTERNAL_API_DEADLINE_EXCEEDED, ex.getMessage())
+        );
+    }
+
     @ExceptionHandler(BadRequestException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<ApiError> invalidFieldErrorHandler(BadRequestException ex) {
@@ -1,6 +1,8 @@
 package com.example.rqchallenge.employees.filter;
 
+import com.example.rqchallenge.employees.client.Deadline;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -9,6 +11,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.UUID;
 
 @Slf4j
@@ -16,13 +19,38 @@ import java.util.UUID;
 public class RequestFilter extends OncePerRequestFilter {
 
     public static final String REQUEST_CORRELATION_ID_KEY = "correlationId";
+    public static final String REQUEST_DEADLINE_KEY = "requestDeadline";
+    /**
+     * Time budget the caller grants this request, in milliseconds. It can shorten the configured
+     * {@code employees.request.deadline} but not extend it: larger values are ignored like invalid ones.
+     */
+    public static final String REQUEST_DEADLINE_HEADER = "X-Request-Deadline";
+
+    @Value("${employees.request.deadline:5s}")
+    private Duration defaultDeadline;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         final String requestCorrelationId = UUID.randomUUID().toString();
         request.setAttribute(REQUEST_CORRELATION_ID_KEY, requestCorrelationId);
+        request.setAttribute(REQUEST_DEADLINE_KEY, Deadline.after(requestBudget(request.getHeader(REQUEST_DEADLINE_HEADER))));
         log.info("Request initiated {}: {}", REQUEST_CORRELATION_ID_KEY, requestCorrelationId);
         filterChain.doFilter(request, response);
         log.info("Request completed {}: {}", REQUEST_CORRELATION_ID_KEY, requestCorrelationId);
     }
+
+    private Duration requestBudget(String deadlineHeader) {
+        if (deadlineHeader != null) {
+            try {
+                long budgetMillis = Long.parseLong(deadlineHeader.trim());
+                if (budgetMillis > 0 && budgetMillis <= defaultDeadline.toMillis()) {
+                    return Duration.ofMillis(budgetMillis);
+                }
+            } catch (NumberFormatException e) {
+                // fall through to the default below
+            }
+            log.warn("Ignoring invalid {} header: {}", REQUEST_DEADLINE_HEADER, deadlineHeader);
+        }
+        return defaultDeadline;
+    }
 }
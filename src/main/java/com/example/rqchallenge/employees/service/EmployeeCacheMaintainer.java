@@ -0,0 +1,132 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.constants.CacheNames;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotChangedEvent;
+import com.example.rqchallenge.employees.util.EmployeeRankingUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the derived caches in step with the employee snapshot. A full reload clears them, while
+ * local creates and deletes patch the cached results that they actually affect.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class EmployeeCacheMaintainer {
+
+    private static final int TOP_EARNERS_LIMIT = 10;
+
+    private final CacheManager cacheManager;
+
+    @EventListener
+    public void onEmployeeSnapshotChanged(EmployeeSnapshotChangedEvent event) {
+        if (event.isFullReload()) {
+            log.debug("Evicting derived employee caches for snapshot v{}", event.getSnapshot().getVersion());
+            clear(CacheNames.EMPLOYEES_SEARCH);
+            clear(CacheNames.EMPLOYEES_HIGHEST_SALARY);
+            clear(CacheNames.EMPLOYEES_TOP_TEN_EARNERS);
+            clear(CacheNames.EMPLOYEES_BY_ID_MISSES);
+            return;
+        }
+        log.debug("Patching derived employee caches for snapshot v{}", event.getSnapshot().getVersion());
+        patchSearchResults(event);
+        patchHighestSalary(event);
+        patchTopEarners(event);
+        forgetMisses(event);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void patchSearchResults(EmployeeSnapshotChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheNames.EMPLOYEES_SEARCH);
+        if (cache == null) {
+            return;
+        }
+        if (!(cache instanceof CaffeineCache)) {
+            cache.clear();
+            return;
+        }
+        final Set<Integer> replacedIds = new HashSet<>();
+        event.getRemoved().forEach(employee -> replacedIds.add(employee.getId()));
+        event.getAdded().forEach(employee -> replacedIds.add(employee.getId()));
+        ConcurrentMap<Object, Object> entries = ((CaffeineCache) cache).getNativeCache().asMap();
+        for (Object searchString : entries.keySet()) {
+            entries.computeIfPresent(searchString, (key, cached) ->
+                    patchSearchResult(key.toString(), (List<Employee>) cached, replacedIds, event.getAdded()));
+        }
+    }
+
+    /**
+     * Returns the search result as it would be recomputed from the patched snapshot, or {@code null}
+     * to drop the entry once nothing matches any more.
+     */
+    private List<Employee> patchSearchResult(String searchString, List<Employee> cached, Set<Integer> replacedIds, List<Employee> added) {
+        final String lowerCaseSearchString = searchString.toLowerCase();
+        List<Employee> patched = new ArrayList<>(cached.size());
+        cached.stream().filter(employee -> !replacedIds.contains(employee.getId())).forEach(patched::add);
+        // the name index never matches an employee without a name, so neither does the patched result
+        added.stream().filter(employee -> employee.getEmployeeName() != null
+                && employee.getEmployeeName().toLowerCase().contains(lowerCaseSearchString)).forEach(patched::add);
+        return patched.isEmpty() ? null : patched;
+    }
+
+    private void patchHighestSalary(EmployeeSnapshotChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheNames.EMPLOYEES_HIGHEST_SALARY);
+        Integer cached = cache == null ? null : cache.get(SimpleKey.EMPTY, Integer.class);
+        if (cached == null) {
+            return;
+        }
+        boolean highestRemoved = event.getRemoved().stream().anyMatch(employee -> cached.equals(employee.getEmployeeSalary()));
+        boolean higherAdded = event.getAdded().stream().anyMatch(employee -> employee.getEmployeeSalary() != null
+                && employee.getEmployeeSalary() > cached);
+        if (highestRemoved || higherAdded) {
+            updateOrEvict(cache, () -> EmployeeRankingUtil.highestSalary(event.getSnapshot()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void patchTopEarners(EmployeeSnapshotChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheNames.EMPLOYEES_TOP_TEN_EARNERS);
+        List<String> cached = cache == null ? null : cache.get(SimpleKey.EMPTY, List.class);
+        if (cached == null) {
+            return;
+        }
+        updateOrEvict(cache, () -> EmployeeRankingUtil.topEarnerNames(event.getSnapshot(), TOP_EARNERS_LIMIT));
+    }
+
+    private void forgetMisses(EmployeeSnapshotChangedEvent event) {
+        Cache cache = cacheManager.getCache(CacheNames.EMPLOYEES_BY_ID_MISSES);
+        if (cache != null) {
+            event.getAdded().forEach(employee -> cache.evict(String.valueOf(employee.getId())));
+        }
+    }
+
+    private void updateOrEvict(Cache cache, Supplier<Object> recompute) {
+        try {
+            cache.put(SimpleKey.EMPTY, recompute.get());
+        } catch (RuntimeException e) {
+            cache.evict(SimpleKey.EMPTY);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
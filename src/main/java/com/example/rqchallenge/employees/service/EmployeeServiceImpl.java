@@ -1,147 +1,349 @@
 package com.example.rqchallenge.employees.service;
 
+import com.example.rqchallenge.employees.client.Deadline;
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
 import com.example.rqchallenge.employees.constants.ApplicationConstants;
-import com.example.rqchallenge.employees.constants.EmployeesApiPaths;
+import com.example.rqchallenge.employees.constants.CacheNames;
+import com.example.rqchallenge.employees.constants.ErrorCodeConstants;
+import com.example.rqchallenge.employees.dto.BatchLookupError;
+import com.example.rqchallenge.employees.dto.BatchLookupResponse;
+import com.example.rqchallenge.employees.dto.BulkWriteResponse;
+import com.example.rqchallenge.employees.dto.BulkWriteResult;
 import com.example.rqchallenge.employees.dto.CreateEmployeeRequest;
 import com.example.rqchallenge.employees.dto.CreateEmployeeResponse;
 import com.example.rqchallenge.employees.dto.Employee;
-import com.example.rqchallenge.employees.dto.GenericEmployeeResponse;
-import com.example.rqchallenge.employees.exception.EmployeeApiInternalServerException;
+import com.example.rqchallenge.employees.dto.EmployeePage;
+import com.example.rqchallenge.employees.dto.EmployeePageRequest;
+import com.example.rqchallenge.employees.dto.EmployeeStatisticsResponse;
+import com.example.rqchallenge.employees.exception.BadRequestException;
+import com.example.rqchallenge.employees.exception.EmployeeNotFoundException;
 import com.example.rqchallenge.employees.exception.NoDataException;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotManager;
+import com.example.rqchallenge.employees.util.EmployeeMappingUtil;
+import com.example.rqchallenge.employees.util.EmployeePagingUtil;
+import com.example.rqchallenge.employees.util.EmployeeRankingUtil;
+import com.example.rqchallenge.employees.util.EmployeeStatisticsUtil;
+import com.example.rqchallenge.employees.util.ErrorReasonUtil;
 import com.example.rqchallenge.employees.util.InputValidationUtil;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.retry.Retry;
+import reactor.util.context.Context;
 
 import java.time.Duration;
-import java.time.temporal.ChronoUnit;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class EmployeeServiceImpl implements IEmployeeService {
 
-    private final WebClient webClient;
+    private static final int DEFAULT_BULK_WRITE_CONCURRENCY = 4;
+    private static final String DEFAULT_BULK_WRITE_ITEM_DEADLINE = "5s";
+
+    private final EmployeeApiClient employeeApiClient;
+    private final EmployeeSnapshotManager employeeSnapshotManager;
+    private final Cache employeeByIdMisses;
+    private final int bulkWriteConcurrency;
+    private final Duration bulkWriteItemDeadline;
 
     @Autowired
+    public EmployeeServiceImpl(EmployeeApiClient employeeApiClient, EmployeeSnapshotManager employeeSnapshotManager, CacheManager cacheManager,
+                               @Value("${employees.bulk.concurrency:4}") int bulkWriteConcurrency,
+                               @Value("${employees.bulk.item-deadline:" + DEFAULT_BULK_WRITE_ITEM_DEADLINE + "}") Duration bulkWriteItemDeadline) {
+        this.employeeApiClient = employeeApiClient;
+        this.employeeSnapshotManager = employeeSnapshotManager;
+        this.employeeByIdMisses = cacheManager.getCache(CacheNames.EMPLOYEES_BY_ID_MISSES);
+        this.bulkWriteConcurrency = bulkWriteConcurrency;
+        this.bulkWriteItemDeadline = bulkWriteItemDeadline;
+    }
+
+    public EmployeeServiceImpl(EmployeeApiClient employeeApiClient, EmployeeSnapshotManager employeeSnapshotManager, CacheManager cacheManager) {
+        this(employeeApiClient, employeeSnapshotManager, cacheManager, DEFAULT_BULK_WRITE_CONCURRENCY,
+                DurationStyle.detectAndParse(DEFAULT_BULK_WRITE_ITEM_DEADLINE));
+    }
+
     public EmployeeServiceImpl(WebClient webClient) {
-        this.webClient = webClient;
+        this(new EmployeeApiClient(webClient));
+    }
+
+    private EmployeeServiceImpl(EmployeeApiClient employeeApiClient) {
+        this(employeeApiClient, new EmployeeSnapshotManager(employeeApiClient), new NoOpCacheManager());
     }
 
-    @Cacheable("employees")
     @Override
     public List<Employee> getAllEmployees() {
-        final GenericEmployeeResponse<List<Employee>> employeeListResponse = webClient.get().uri(EmployeesApiPaths.GET_ALL)
-                .retrieve().bodyToMono(GenericEmployeeResponse.class)
-                .retryWhen(Retry.backoff(3, Duration.of(2, ChronoUnit.SECONDS))
-                        .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) ->
-                                new EmployeeApiInternalServerException(retrySignal.failure().getMessage())))
-                .block();
-        employeeResponseErrorHandler(employeeListResponse);
-        return new ObjectMapper().convertValue(employeeListResponse.getData(), new TypeReference<List<Employee>>() {
-        });
+        return employeeSnapshotManager.current().getEmployees();
     }
 
-    @Cacheable("employeesSearch")
+    @Override
+    public EmployeePage getEmployeesPage(EmployeePageRequest pageRequest) {
+        return EmployeePagingUtil.page(employeeSnapshotManager.current(), pageRequest);
+    }
+
+    @Cacheable(value = CacheNames.EMPLOYEES_SEARCH, sync = true)
     @Override
     public List<Employee> getEmployeesByNameSearch(String searchString) {
         InputValidationUtil.validateSearchString(searchString);
-        List<Employee> employees = this.getAllEmployees().stream().filter(employee -> employee.getEmployeeName().toLowerCase().contains(searchString.toLowerCase())).collect(Collectors.toList());
+        List<Employee> employees = employeeSnapshotManager.current().searchByName(searchString);
         if (employees.isEmpty()) {
             throw new NoDataException();
         }
         return employees;
     }
 
+    @Override
+    public EmployeePage getEmployeesByNameSearchPage(String searchString, EmployeePageRequest pageRequest) {
+        InputValidationUtil.validateSearchString(searchString);
+        EmployeePage page = EmployeePagingUtil.page(employeeSnapshotManager.current(), searchString, pageRequest);
+        if (page.getTotal() == 0) {
+            throw new NoDataException();
+        }
+        return page;
+    }
+
+    /**
+     * Answers from the snapshot's id index when possible and only goes to the external API on a miss.
+     * Ids the external API reported as missing are remembered for a short while so repeated probes
+     * for them stay local.
+     */
     @Override
     public Optional<Employee> getEmployeeById(String id) {
         InputValidationUtil.validateId(id);
-        final GenericEmployeeResponse<Employee> employeeResponse = webClient.get().uri(EmployeesApiPaths.GET_BY_ID, id)
-                .retrieve().bodyToMono(GenericEmployeeResponse.class)
-                .retryWhen(Retry.backoff(3, Duration.of(2, ChronoUnit.SECONDS))
-                        .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) ->
-                                new EmployeeApiInternalServerException(retrySignal.failure().getMessage())))
-                .block();
-        employeeResponseErrorHandler(employeeResponse);
-        return Optional.of(new ObjectMapper().convertValue(employeeResponse.getData(), Employee.class));
+        final String lookupId = id.trim();
+        Optional<Employee> indexedEmployee = findInSnapshot(lookupId);
+        if (indexedEmployee.isPresent()) {
+            return indexedEmployee;
+        }
+        if (employeeByIdMisses.get(lookupId) != null) {
+            throw new NoDataException();
+        }
+        try {
+            return Optional.of(employeeApiClient.getEmployeeById(lookupId).block());
+        } catch (NoDataException e) {
+            employeeByIdMisses.put(lookupId, Boolean.TRUE);
+            throw e;
+        }
     }
 
-    @Cacheable("employeesHighestSalary")
+    /**
+     * Resolves every id on its own, so one bad id never fails the batch. Ids are answered from the
+     * snapshot and the miss cache first; only the rest go to the external API, with a bounded number
+     * of calls in flight, and the calling thread blocks once for all of them.
+     */
+    @Override
+    public BatchLookupResponse getEmployeesByIds(List<String> ids) {
+        InputValidationUtil.validateBatchLookupIds(ids);
+        final Map<String, Employee> found = new ConcurrentHashMap<>();
+        final Map<String, BatchLookupError> errors = new ConcurrentHashMap<>();
+        final Set<String> lookupIds = new LinkedHashSet<>();
+        final List<String> upstreamIds = new ArrayList<>();
+        for (String id : ids) {
+            try {
+                InputValidationUtil.validateId(id);
+            } catch (BadRequestException e) {
+                errors.put(String.valueOf(id), toBatchLookupError(String.valueOf(id), e));
+                lookupIds.add(String.valueOf(id));
+                continue;
+            }
+            final String lookupId = id.trim();
+            if (!lookupIds.add(lookupId)) {
+                continue;
+            }
+            Optional<Employee> indexedEmployee = findInSnapshot(lookupId);
+            if (indexedEmployee.isPresent()) {
+                found.put(lookupId, indexedEmployee.get());
+            } else if (employeeByIdMisses.get(lookupId) != null) {
+                errors.put(lookupId, toBatchLookupError(lookupId, new NoDataException()));
+            } else {
+                upstreamIds.add(lookupId);
+            }
+        }
+
+        Flux.fromIterable(upstreamIds)
+                .flatMap(lookupId -> employeeApiClient.getEmployeeById(lookupId)
+                        .doOnNext(employee -> found.put(lookupId, employee))
+                        .doOnError(NoDataException.class, e -> employeeByIdMisses.put(lookupId, Boolean.TRUE))
+                        .onErrorResume(e -> {
+                            errors.put(lookupId, toBatchLookupError(lookupId, e));
+                            return Mono.empty();
+                        }), ApplicationConstants.BATCH_LOOKUP_UPSTREAM_CONCURRENCY)
+                // later lookups subscribe off the request thread, so carry its deadline along explicitly
+                .contextWrite(context -> Deadline.forCurrentRequest().map(deadline -> context.put(Deadline.class, deadline)).orElse(context))
+                .blockLast();
+
+        final List<Employee> employees = new ArrayList<>(found.size());
+        final List<BatchLookupError> lookupErrors = new ArrayList<>(errors.size());
+        for (String lookupId : lookupIds) {
+            if (found.containsKey(lookupId)) {
+                employees.add(found.get(lookupId));
+            } else {
+                lookupErrors.add(errors.getOrDefault(lookupId, toBatchLookupError(lookupId, new NoDataException())));
+            }
+        }
+        return new BatchLookupResponse(employees, lookupErrors);
+    }
+
+    @Cacheable(value = CacheNames.EMPLOYEES_HIGHEST_SALARY, sync = true)
     @Override
     public Integer getHighestSalaryOfEmployees() {
-        return this.getAllEmployees().stream()
-                .max(Comparator.comparing(Employee::getEmployeeSalary))
-                .orElseThrow(NoDataException::new).getEmployeeSalary();
+        return EmployeeRankingUtil.highestSalary(employeeSnapshotManager.current());
     }
 
-    @Cacheable("employeesTopTenEarners")
+    @Cacheable(value = CacheNames.EMPLOYEES_TOP_TEN_EARNERS, sync = true)
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        return this.getAllEmployees().stream()
-                    .sorted(Comparator.comparing((Employee::getEmployeeSalary)).reversed())
-                    .limit(10)
-                    .map(Employee::getEmployeeName).
-                    collect(Collectors.toList());
+        return EmployeeRankingUtil.topEarnerNames(employeeSnapshotManager.current(), 10);
+    }
+
+    @Override
+    public List<String> getTopHighestEarningEmployeeNames(int k) {
+        InputValidationUtil.validateTopEarnersCount(k);
+        return EmployeeRankingUtil.topEarnerNames(employeeSnapshotManager.current(), k);
+    }
+
+    @Override
+    public EmployeeStatisticsResponse getEmployeeStatistics() {
+        return EmployeeStatisticsUtil.summarize(employeeSnapshotManager.current());
     }
 
-    @CacheEvict(cacheNames = {"employees", "employeesSearch", "employeesHighestSalary", "employeesTopTenEarners"}, allEntries = true)
     @Override
     public Employee createEmployee(Map<String, Object> employeeInput) {
         InputValidationUtil.validateEmployeeInputFields(employeeInput);
-        GenericEmployeeResponse<Employee> employeeResponse = webClient.post().uri(EmployeesApiPaths.CREATE)
-                .body(Mono.just(CreateEmployeeRequest.builder()
-                                .name(employeeInput.get(ApplicationConstants.FIELD_EMPLOYEE_NAME).toString())
-                                .age(employeeInput.get(ApplicationConstants.FIELD_EMPLOYEE_AGE).toString())
-                                .salary(employeeInput.get(ApplicationConstants.FIELD_EMPLOYEE_SALARY).toString())
-                                .profileImage(Optional.ofNullable(employeeInput.get(ApplicationConstants.FIELD_EMPLOYEE_PROFILE_IMAGE)).orElse("").toString())
-                                .build()),
-                        CreateEmployeeRequest.class).retrieve().bodyToMono(GenericEmployeeResponse.class)
-                .retryWhen(Retry.backoff(3, Duration.of(2, ChronoUnit.SECONDS))
-                        .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) ->
-                                new EmployeeApiInternalServerException(retrySignal.failure().getMessage())))
-                .block();
-        employeeResponseErrorHandler(employeeResponse);
-        CreateEmployeeResponse createEmployeeResponse = new ObjectMapper().convertValue(employeeResponse.getData(), CreateEmployeeResponse.class);
-
-        return Employee.builder().id(createEmployeeResponse.getId())
-                .employeeName(createEmployeeResponse.getName())
-                .employeeAge(createEmployeeResponse.getAge())
-                .employeeSalary(createEmployeeResponse.getSalary())
-                .profileImage(Optional.ofNullable(createEmployeeResponse.getProfileImage()).orElse(""))
-                .build();
-    }
-
-    @CacheEvict(cacheNames = {"employees", "employeesSearch", "employeesHighestSalary", "employeesTopTenEarners"}, allEntries = true)
+        CreateEmployeeResponse createEmployeeResponse = employeeApiClient.createEmployee(EmployeeMappingUtil.toCreateEmployeeRequest(employeeInput)).block();
+        Employee createdEmployee = EmployeeMappingUtil.toEmployee(createEmployeeResponse);
+        employeeSnapshotManager.applyChanges(List.of(createdEmployee), List.of());
+        return createdEmployee;
+    }
+
     @Override
     public String deleteEmployeeById(String id) {
         InputValidationUtil.validateId(id);
-        GenericEmployeeResponse<String> deleteResponse = webClient.delete().uri(EmployeesApiPaths.DELETE, id)
-                .retrieve().bodyToMono(GenericEmployeeResponse.class)
-                .retryWhen(Retry.backoff(3, Duration.of(2, ChronoUnit.SECONDS))
-                        .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) ->
-                                new EmployeeApiInternalServerException(retrySignal.failure().getMessage())))
-                .block();
-        employeeResponseErrorHandler(deleteResponse);
-        return deleteResponse.getData();
-    }
-
-    private <T> void employeeResponseErrorHandler(final GenericEmployeeResponse<T> employeeResponse) {
-        if (employeeResponse == null || !employeeResponse.getStatus().equals("success")) {
-            throw new EmployeeApiInternalServerException();
+        String deletedId = employeeApiClient.deleteEmployeeById(id).block();
+        try {
+            employeeSnapshotManager.applyChanges(List.of(), List.of(Integer.valueOf(id.trim())));
+        } catch (NumberFormatException e) {
+            // ids that are not numeric cannot be matched against the snapshot, so let it revalidate instead
+            employeeSnapshotManager.invalidate();
         }
-        if (Optional.ofNullable(employeeResponse.getData()).isEmpty()) {
-            throw new NoDataException();
+        return deletedId;
+    }
+
+    /**
+     * Validates every input before anything is written, then sends the creates with at most
+     * {@code employees.bulk.concurrency} in flight. The snapshot and derived caches are patched once
+     * for the whole batch.
+     */
+    @Override
+    public BulkWriteResponse createEmployees(List<Map<String, Object>> employeeInputs) {
+        InputValidationUtil.validateBulkItems(employeeInputs, employeeInput -> {
+            if (employeeInput == null) {
+                throw new BadRequestException("Employee cannot be empty.");
+            }
+            InputValidationUtil.validateEmployeeInputFields(employeeInput);
+        });
+        final List<CreateEmployeeRequest> createEmployeeRequests = employeeInputs.stream()
+                .map(EmployeeMappingUtil::toCreateEmployeeRequest)
+                .collect(Collectors.toList());
+
+        final List<BulkWriteResult> results = pipelineWrites(createEmployeeRequests.size(), index -> null,
+                index -> employeeApiClient.createEmployee(createEmployeeRequests.get(index))
+                        .map(createEmployeeResponse -> {
+                            Employee createdEmployee = EmployeeMappingUtil.toEmployee(createEmployeeResponse);
+                            return new BulkWriteResult(index, String.valueOf(createdEmployee.getId()), createdEmployee, null, null);
+                        }));
+
+        final List<Employee> createdEmployees = results.stream()
+                .filter(BulkWriteResult::isSucceeded)
+                .map(BulkWriteResult::getEmployee)
+                .collect(Collectors.toList());
+        if (!createdEmployees.isEmpty()) {
+            employeeSnapshotManager.applyChanges(createdEmployees, List.of());
+        }
+        return BulkWriteResponse.of(results);
+    }
+
+    /**
+     * Bulk counterpart of {@link #deleteEmployeeById(String)}, pipelined and reconciled with the
+     * snapshot in one pass like {@link #createEmployees(List)}.
+     */
+    @Override
+    public BulkWriteResponse deleteEmployeesByIds(List<String> ids) {
+        InputValidationUtil.validateBulkItems(ids, InputValidationUtil::validateId);
+
+        final List<BulkWriteResult> results = pipelineWrites(ids.size(), ids::get,
+                index -> employeeApiClient.deleteEmployeeById(ids.get(index))
+                        .map(deletedId -> new BulkWriteResult(index, ids.get(index), null, null, null)));
+
+        final List<Integer> deletedIds = new ArrayList<>();
+        boolean unmatchedDelete = false;
+        for (BulkWriteResult result : results) {
+            if (!result.isSucceeded()) {
+                continue;
+            }
+            try {
+                deletedIds.add(Integer.valueOf(result.getId().trim()));
+            } catch (NumberFormatException e) {
+                unmatchedDelete = true;
+            }
+        }
+        if (!deletedIds.isEmpty()) {
+            employeeSnapshotManager.applyChanges(List.of(), deletedIds);
+        }
+        if (unmatchedDelete) {
+            // ids that are not numeric cannot be matched against the snapshot, so let it revalidate instead
+            employeeSnapshotManager.invalidate();
+        }
+        return BulkWriteResponse.of(results);
+    }
+
+    /**
+     * Runs one upstream write per item with a bounded window of writes in flight and blocks once until
+     * all of them settled. Every write gets a deadline of its own, so a long import is not cut short by
+     * the deadline of the request that started it.
+     */
+    private List<BulkWriteResult> pipelineWrites(int itemCount, IntFunction<String> itemId, IntFunction<Mono<BulkWriteResult>> write) {
+        final BulkWriteResult[] results = new BulkWriteResult[itemCount];
+        Flux.range(0, itemCount)
+                .flatMap(index -> Mono.defer(() -> write.apply(index))
+                        .contextWrite(Context.of(Deadline.class, Deadline.after(bulkWriteItemDeadline)))
+                        .onErrorResume(e -> Mono.just(new BulkWriteResult(index, itemId.apply(index), null, ErrorReasonUtil.reasonCode(e), ErrorReasonUtil.description(e))))
+                        .doOnNext(result -> results[index] = result), bulkWriteConcurrency)
+                .blockLast();
+        return Arrays.asList(results);
+    }
+
+    private static BatchLookupError toBatchLookupError(String id, Throwable error) {
+        if (error instanceof NoDataException) {
+            return new BatchLookupError(id, ErrorCodeConstants.EMPLOYEE_NOT_FOUND_CODE, new EmployeeNotFoundException(id).getMessage());
+        }
+        return new BatchLookupError(id, ErrorReasonUtil.reasonCode(error), ErrorReasonUtil.description(error));
+    }
+
+    private Optional<Employee> findInSnapshot(String id) {
+        final int numericId;
+        try {
+            numericId = Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
         }
+        return employeeSnapshotManager.peek().flatMap(snapshot -> snapshot.findById(numericId));
     }
 }
@@ -0,0 +1,124 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.exception.NoDataException;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads the employee snapshot and fills the highest salary and top ten earner caches before the
+ * application reports ready. Boot only moves readiness to {@code ACCEPTING_TRAFFIC} once every
+ * runner has returned, so the first requests routed to the instance no longer pay for the upstream
+ * fetch.
+ * <p>
+ * The wait is bounded by {@code employees.warmup.timeout}. A warm-up that fails or runs out of time
+ * lets the application become ready anyway, in degraded mode: a timed-out warm-up keeps going in the
+ * background, and anything it did not get to is loaded by the first requests as before. The outcome
+ * and duration are recorded as the {@code employees.warmup} timer and reported by
+ * {@link EmployeeWarmupHealthIndicator}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "employees.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeWarmup implements ApplicationRunner {
+
+    public enum State {
+        IN_PROGRESS, COMPLETED, DEGRADED
+    }
+
+    private final EmployeeSnapshotManager employeeSnapshotManager;
+    private final IEmployeeService employeeService;
+    private final MeterRegistry meterRegistry;
+    private final Duration timeout;
+
+    private volatile State state = State.IN_PROGRESS;
+    private volatile Duration duration;
+    private volatile String degradedReason;
+
+    public EmployeeWarmup(EmployeeSnapshotManager employeeSnapshotManager, IEmployeeService employeeService, MeterRegistry meterRegistry,
+                          @Value("${employees.warmup.timeout:30s}") Duration timeout) {
+        this.employeeSnapshotManager = employeeSnapshotManager;
+        this.employeeService = employeeService;
+        this.meterRegistry = meterRegistry;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        final long start = System.nanoTime();
+        final ExecutorService warmupExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            warmupExecutor.submit(this::warmUp).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            finish(State.COMPLETED, null, start);
+        } catch (TimeoutException e) {
+            finish(State.DEGRADED, "Warm-up did not finish within " + timeout, start);
+        } catch (ExecutionException e) {
+            finish(State.DEGRADED, "Warm-up failed: " + e.getCause(), start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(State.DEGRADED, "Warm-up was interrupted", start);
+        } finally {
+            warmupExecutor.shutdown();
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public String getDegradedReason() {
+        return degradedReason;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    private void warmUp() {
+        employeeSnapshotManager.current();
+        try {
+            // through the service bean, so the results land in its caches
+            employeeService.getHighestSalaryOfEmployees();
+            employeeService.getTopTenHighestEarningEmployeeNames();
+        } catch (NoDataException e) {
+            log.info("Employee dataset is empty, nothing to rank during warm-up");
+        }
+    }
+
+    private void finish(State outcome, String reason, long start) {
+        duration = Duration.ofNanos(System.nanoTime() - start);
+        degradedReason = reason;
+        state = outcome;
+        Timer.builder("employees.warmup")
+                .description("Time spent warming up before reporting ready")
+                .tag("outcome", outcome.name().toLowerCase())
+                .register(meterRegistry)
+                .record(duration);
+        if (outcome == State.COMPLETED) {
+            log.info("Warm-up completed in {} ms", duration.toMillis());
+        } else {
+            log.warn("Becoming ready in degraded mode after {} ms: {}", duration.toMillis(), reason);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.rqchallenge.employees.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the warm-up under {@code /actuator/health} and the readiness group. It stays OUT_OF_SERVICE
+ * while the warm-up runs and turns UP once it is over; a degraded warm-up is UP as well, with the
+ * reason in the details.
+ */
+@RequiredArgsConstructor
+@Component("employeeWarmup")
+@ConditionalOnProperty(value = "employees.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeWarmupHealthIndicator implements HealthIndicator {
+
+    private final EmployeeWarmup employeeWarmup;
+
+    @Override
+    public Health health() {
+        EmployeeWarmup.State state = employeeWarmup.getState();
+        Health.Builder builder = state == EmployeeWarmup.State.IN_PROGRESS ? Health.outOfService() : Health.up();
+        builder.withDetail("state", state)
+                .withDetail("timeout", employeeWarmup.getTimeout().toString());
+        if (employeeWarmup.getDuration() != null) {
+            builder.withDetail("duration", employeeWarmup.getDuration().toString());
+        }
+        if (employeeWarmup.getDegradedReason() != null) {
+            builder.withDetail("degradedReason", employeeWarmup.getDegradedReason());
+        }
+        return builder.build();
+    }
+}
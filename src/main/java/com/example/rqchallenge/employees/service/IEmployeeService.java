@@ -1,6 +1,11 @@
 package com.example.rqchallenge.employees.service;
 
+import com.example.rqchallenge.employees.dto.BatchLookupResponse;
+import com.example.rqchallenge.employees.dto.BulkWriteResponse;
 import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.EmployeePage;
+import com.example.rqchallenge.employees.dto.EmployeePageRequest;
+import com.example.rqchallenge.employees.dto.EmployeeStatisticsResponse;
 
 import java.util.List;
 import java.util.Map;
@@ -10,17 +15,31 @@ public interface IEmployeeService {
 
     public List<Employee> getAllEmployees();
 
+    public EmployeePage getEmployeesPage(EmployeePageRequest pageRequest);
+
     public List<Employee> getEmployeesByNameSearch(final String searchString);
 
+    public EmployeePage getEmployeesByNameSearchPage(final String searchString, EmployeePageRequest pageRequest);
+
     public Optional<Employee> getEmployeeById(final String id);
 
+    public BatchLookupResponse getEmployeesByIds(final List<String> ids);
+
     public Integer getHighestSalaryOfEmployees();
 
     public List<String> getTopTenHighestEarningEmployeeNames();
 
+    public List<String> getTopHighestEarningEmployeeNames(int k);
+
+    public EmployeeStatisticsResponse getEmployeeStatistics();
+
     public Employee createEmployee(Map<String, Object> employeeInput);
 
     public String deleteEmployeeById(String id);
 
+    public BulkWriteResponse createEmployees(List<Map<String, Object>> employeeInputs);
+
+    public BulkWriteResponse deleteEmployeesByIds(List<String> ids);
+
 
 }
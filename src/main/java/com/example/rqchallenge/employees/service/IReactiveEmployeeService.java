@@ -0,0 +1,27 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public interface IReactiveEmployeeService {
+
+    public Flux<Employee> getAllEmployees();
+
+    public Flux<Employee> getEmployeesByNameSearch(final String searchString);
+
+    public Mono<Employee> getEmployeeById(final String id);
+
+    public Mono<Integer> getHighestSalaryOfEmployees();
+
+    public Flux<String> getTopTenHighestEarningEmployeeNames();
+
+    public Flux<String> getTopHighestEarningEmployeeNames(int k);
+
+    public Mono<Employee> createEmployee(Map<String, Object> employeeInput);
+
+    public Mono<String> deleteEmployeeById(String id);
+
+}
@@ -0,0 +1,144 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.constants.CacheNames;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.exception.NoDataException;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotManager;
+import com.example.rqchallenge.employees.util.EmployeeMappingUtil;
+import com.example.rqchallenge.employees.util.EmployeeRankingUtil;
+import com.example.rqchallenge.employees.util.InputValidationUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeServiceImpl}. It reads the same snapshot and shares the
+ * same miss cache, but hands back publishers instead of blocking the calling thread on the external API,
+ * so an in-flight upstream call holds no thread at all. Validation failures are emitted as error signals.
+ * <p>
+ * Patching the snapshot after a write takes the snapshot's publish lock and derives the next version's
+ * indexes, so it runs on the bounded elastic scheduler rather than on the event loop that delivered the
+ * upstream response.
+ */
+@Service
+public class ReactiveEmployeeServiceImpl implements IReactiveEmployeeService {
+
+    private final EmployeeApiClient employeeApiClient;
+    private final EmployeeSnapshotManager employeeSnapshotManager;
+    private final Cache employeeByIdMisses;
+
+    @Autowired
+    public ReactiveEmployeeServiceImpl(EmployeeApiClient employeeApiClient, EmployeeSnapshotManager employeeSnapshotManager, CacheManager cacheManager) {
+        this.employeeApiClient = employeeApiClient;
+        this.employeeSnapshotManager = employeeSnapshotManager;
+        this.employeeByIdMisses = cacheManager.getCache(CacheNames.EMPLOYEES_BY_ID_MISSES);
+    }
+
+    public ReactiveEmployeeServiceImpl(WebClient webClient) {
+        this(new EmployeeApiClient(webClient));
+    }
+
+    private ReactiveEmployeeServiceImpl(EmployeeApiClient employeeApiClient) {
+        this(employeeApiClient, new EmployeeSnapshotManager(employeeApiClient), new NoOpCacheManager());
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return employeeSnapshotManager.currentAsync().flatMapIterable(snapshot -> snapshot.getEmployees());
+    }
+
+    @Override
+    public Flux<Employee> getEmployeesByNameSearch(String searchString) {
+        return Mono.fromRunnable(() -> InputValidationUtil.validateSearchString(searchString))
+                .then(employeeSnapshotManager.currentAsync())
+                .flatMapIterable(snapshot -> {
+                    List<Employee> employees = snapshot.searchByName(searchString);
+                    if (employees.isEmpty()) {
+                        throw new NoDataException();
+                    }
+                    return employees;
+                });
+    }
+
+    @Override
+    public Mono<Employee> getEmployeeById(String id) {
+        return Mono.defer(() -> {
+            InputValidationUtil.validateId(id);
+            final String lookupId = id.trim();
+            Optional<Employee> indexedEmployee = findInSnapshot(lookupId);
+            if (indexedEmployee.isPresent()) {
+                return Mono.just(indexedEmployee.get());
+            }
+            if (employeeByIdMisses.get(lookupId) != null) {
+                return Mono.error(new NoDataException());
+            }
+            return employeeApiClient.getEmployeeById(lookupId)
+                    .doOnError(NoDataException.class, e -> employeeByIdMisses.put(lookupId, Boolean.TRUE));
+        });
+    }
+
+    @Override
+    public Mono<Integer> getHighestSalaryOfEmployees() {
+        return employeeSnapshotManager.currentAsync().map(EmployeeRankingUtil::highestSalary);
+    }
+
+    @Override
+    public Flux<String> getTopTenHighestEarningEmployeeNames() {
+        return employeeSnapshotManager.currentAsync().flatMapIterable(snapshot -> EmployeeRankingUtil.topEarnerNames(snapshot, 10));
+    }
+
+    @Override
+    public Flux<String> getTopHighestEarningEmployeeNames(int k) {
+        return Mono.fromRunnable(() -> InputValidationUtil.validateTopEarnersCount(k))
+                .then(employeeSnapshotManager.currentAsync())
+                .flatMapIterable(snapshot -> EmployeeRankingUtil.topEarnerNames(snapshot, k));
+    }
+
+    @Override
+    public Mono<Employee> createEmployee(Map<String, Object> employeeInput) {
+        return Mono.defer(() -> {
+            InputValidationUtil.validateEmployeeInputFields(employeeInput);
+            return employeeApiClient.createEmployee(EmployeeMappingUtil.toCreateEmployeeRequest(employeeInput));
+        }).publishOn(Schedulers.boundedElastic()).map(createEmployeeResponse -> {
+            Employee createdEmployee = EmployeeMappingUtil.toEmployee(createEmployeeResponse);
+            employeeSnapshotManager.applyChanges(List.of(createdEmployee), List.of());
+            return createdEmployee;
+        });
+    }
+
+    @Override
+    public Mono<String> deleteEmployeeById(String id) {
+        return Mono.defer(() -> {
+            InputValidationUtil.validateId(id);
+            return employeeApiClient.deleteEmployeeById(id);
+        }).publishOn(Schedulers.boundedElastic()).doOnNext(deletedId -> {
+            try {
+                employeeSnapshotManager.applyChanges(List.of(), List.of(Integer.valueOf(id.trim())));
+            } catch (NumberFormatException e) {
+                // ids that are not numeric cannot be matched against the snapshot, so let it revalidate instead
+                employeeSnapshotManager.invalidate();
+            }
+        });
+    }
+
+    private Optional<Employee> findInSnapshot(String id) {
+        final int numericId;
+        try {
+            numericId = Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+        return employeeSnapshotManager.peek().flatMap(snapshot -> snapshot.findById(numericId));
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Keeps the dataset as parallel primitive columns instead of one {@link Employee} per row.
+ * <p>
+ * Id, salary and age are {@code int} columns with a one-byte presence column for the nullable
+ * fields. Names and profile image URLs are dictionary-encoded: each distinct string is held once and
+ * rows store its {@code int} code. That comes to 21 bytes per row plus the distinct strings, against
+ * an object header, three boxed integers and two string references per row for
+ * {@link ObjectEmployeeTable}. The columns live either on the heap or, with {@code offHeap}, in direct
+ * buffers outside it, released when the table is garbage collected. The dictionaries stay on the heap.
+ * <p>
+ * {@link Employee} objects are built on demand for the rows that are asked for. Columns are only
+ * read through absolute accessors, so the table is safe to share between threads once built.
+ */
+class ColumnarEmployeeTable implements EmployeeTable {
+
+    private static final int NULL_CODE = -1;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_SALARY = 1 << 1;
+    private static final int HAS_AGE = 1 << 2;
+
+    private final int size;
+    private final ByteBuffer presence;
+    private final IntBuffer ids;
+    private final IntBuffer salaries;
+    private final IntBuffer ages;
+    private final IntBuffer nameCodes;
+    private final IntBuffer profileImageCodes;
+    private final String[] names;
+    private final String[] profileImages;
+    private final List<Employee> rows = new Rows();
+
+    ColumnarEmployeeTable(List<Employee> employees, boolean offHeap) {
+        this(new Columns(employees.size(), offHeap, new Dictionary(), new Dictionary()).append(0, employees));
+    }
+
+    private ColumnarEmployeeTable(Columns columns) {
+        size = columns.size;
+        presence = columns.presence;
+        ids = columns.ids;
+        salaries = columns.salaries;
+        ages = columns.ages;
+        nameCodes = columns.nameCodes;
+        profileImageCodes = columns.profileImageCodes;
+        names = columns.names.values();
+        profileImages = columns.profileImages.values();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Employee get(int row) {
+        final int flags = presence.get(row);
+        return Employee.builder()
+                .id((flags & HAS_ID) != 0 ? ids.get(row) : null)
+                .employeeName(decode(names, nameCodes.get(row)))
+                .employeeSalary((flags & HAS_SALARY) != 0 ? salaries.get(row) : null)
+                .employeeAge((flags & HAS_AGE) != 0 ? ages.get(row) : null)
+                .profileImage(decode(profileImages, profileImageCodes.get(row)))
+                .build();
+    }
+
+    @Override
+    public boolean hasId(int row) {
+        return (presence.get(row) & HAS_ID) != 0;
+    }
+
+    @Override
+    public int id(int row) {
+        return ids.get(row);
+    }
+
+    @Override
+    public boolean hasSalary(int row) {
+        return (presence.get(row) & HAS_SALARY) != 0;
+    }
+
+    @Override
+    public int salary(int row) {
+        return salaries.get(row);
+    }
+
+    @Override
+    public boolean hasAge(int row) {
+        return (presence.get(row) & HAS_AGE) != 0;
+    }
+
+    @Override
+    public int age(int row) {
+        return ages.get(row);
+    }
+
+    @Override
+    public String name(int row) {
+        return decode(names, nameCodes.get(row));
+    }
+
+    @Override
+    public List<Employee> asList() {
+        return rows;
+    }
+
+    /**
+     * Compares column by column, so a refresh that brings back the same dataset does not build an
+     * {@link Employee} per row just to find that out.
+     */
+    @Override
+    public boolean contentEquals(List<Employee> employees) {
+        if (employees.size() != size) {
+            return false;
+        }
+        int row = 0;
+        for (Employee employee : employees) {
+            final int flags = presence.get(row);
+            if (employee == null
+                    || !sameValue(employee.getId(), (flags & HAS_ID) != 0, ids, row)
+                    || !sameValue(employee.getEmployeeSalary(), (flags & HAS_SALARY) != 0, salaries, row)
+                    || !sameValue(employee.getEmployeeAge(), (flags & HAS_AGE) != 0, ages, row)
+                    || !Objects.equals(employee.getEmployeeName(), decode(names, nameCodes.get(row)))
+                    || !Objects.equals(employee.getProfileImage(), decode(profileImages, profileImageCodes.get(row)))) {
+                return false;
+            }
+            row++;
+        }
+        return true;
+    }
+
+    /**
+     * Copies the kept rows column by column and appends the added ones. The dictionaries start out as
+     * the previous ones, so the codes of kept rows stay valid; strings that only removed rows used are
+     * dropped at the next full reload.
+     */
+    @Override
+    public EmployeeTable patched(RowPatch patch, List<Employee> added) {
+        final Columns columns = new Columns(patch.rowCount(), presence.isDirect(), new Dictionary(names), new Dictionary(profileImages));
+        for (int row = 0; row < size; row++) {
+            final int newRow = patch.newRow(row);
+            if (newRow != RowPatch.REMOVED) {
+                columns.presence.put(newRow, presence.get(row));
+                columns.ids.put(newRow, ids.get(row));
+                columns.salaries.put(newRow, salaries.get(row));
+                columns.ages.put(newRow, ages.get(row));
+                columns.nameCodes.put(newRow, nameCodes.get(row));
+                columns.profileImageCodes.put(newRow, profileImageCodes.get(row));
+            }
+        }
+        return new ColumnarEmployeeTable(columns.append(patch.keptCount(), added));
+    }
+
+    private static boolean sameValue(Integer value, boolean present, IntBuffer column, int row) {
+        return value == null ? !present : present && column.get(row) == value;
+    }
+
+    private static String decode(String[] dictionary, int code) {
+        return code == NULL_CODE ? null : dictionary[code];
+    }
+
+    private static ByteBuffer allocate(int bytes, boolean offHeap) {
+        return offHeap ? ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder()) : ByteBuffer.allocate(bytes);
+    }
+
+    private static IntBuffer allocateInts(int count, boolean offHeap) {
+        return offHeap ? allocate(Math.multiplyExact(count, Integer.BYTES), true).asIntBuffer() : IntBuffer.allocate(count);
+    }
+
+    /**
+     * Columns and dictionaries of a table being built.
+     */
+    private static class Columns {
+
+        private final int size;
+        private final ByteBuffer presence;
+        private final IntBuffer ids;
+        private final IntBuffer salaries;
+        private final IntBuffer ages;
+        private final IntBuffer nameCodes;
+        private final IntBuffer profileImageCodes;
+        private final Dictionary names;
+        private final Dictionary profileImages;
+
+        Columns(int size, boolean offHeap, Dictionary names, Dictionary profileImages) {
+            this.size = size;
+            presence = allocate(size, offHeap);
+            ids = allocateInts(size, offHeap);
+            salaries = allocateInts(size, offHeap);
+            ages = allocateInts(size, offHeap);
+            nameCodes = allocateInts(size, offHeap);
+            profileImageCodes = allocateInts(size, offHeap);
+            this.names = names;
+            this.profileImages = profileImages;
+        }
+
+        /**
+         * Writes {@code employees} into consecutive rows starting at {@code firstRow}.
+         */
+        Columns append(int firstRow, List<Employee> employees) {
+            int row = firstRow;
+            for (Employee employee : employees) {
+                int flags = 0;
+                if (employee.getId() != null) {
+                    flags |= HAS_ID;
+                    ids.put(row, employee.getId());
+                }
+                if (employee.getEmployeeSalary() != null) {
+                    flags |= HAS_SALARY;
+                    salaries.put(row, employee.getEmployeeSalary());
+                }
+                if (employee.getEmployeeAge() != null) {
+                    flags |= HAS_AGE;
+                    ages.put(row, employee.getEmployeeAge());
+                }
+                presence.put(row, (byte) flags);
+                nameCodes.put(row, names.encode(employee.getEmployeeName()));
+                profileImageCodes.put(row, profileImages.encode(employee.getProfileImage()));
+                row++;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Assigns consecutive codes to distinct strings while the table is built.
+     */
+    private static class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        Dictionary() {
+        }
+
+        Dictionary(String[] existing) {
+            for (String value : existing) {
+                encode(value);
+            }
+        }
+
+        int encode(String value) {
+            if (value == null) {
+                return NULL_CODE;
+            }
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        String[] values() {
+            return values.toArray(new String[0]);
+        }
+    }
+
+    private class Rows extends AbstractList<Employee> implements RandomAccess {
+
+        @Override
+        public Employee get(int index) {
+            return ColumnarEmployeeTable.this.get(Objects.checkIndex(index, size));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.util.LongIntHashMap;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Trigram inverted index over lower-cased employee names.
+ * <p>
+ * Every distinct trigram maps to a sorted posting list of row numbers. The posting lists are stored
+ * back to back in one {@code int[]} with an offsets table, so the index is a handful of primitive
+ * arrays regardless of dataset size. A substring query intersects the posting lists of its own
+ * trigrams and then verifies the surviving rows with {@link String#contains}, so results are exactly
+ * those of {@code name.toLowerCase().contains(query.toLowerCase())}, in dataset order.
+ * Queries shorter than a trigram fall back to scanning the pre-lower-cased names. Rows sharing a
+ * name share its lower-cased copy.
+ * <p>
+ * A patched version is derived from the previous index: kept posting lists are renumbered and the
+ * added rows appended to them, which keeps every list sorted since added rows come last.
+ * <p>
+ * Immutable once built and safe to query from any number of threads.
+ */
+class EmployeeNameIndex {
+
+    private static final int GRAM = 3;
+    private static final int NO_TRIGRAM = -1;
+    private static final int[] NO_ROWS = new int[0];
+
+    private final String[] lowerCaseNames;
+    private final LongIntHashMap trigramOrdinals;
+    private final int[] offsets;
+    private final int[] postings;
+
+    EmployeeNameIndex(List<Employee> employees) {
+        this(employees.size(), row -> employees.get(row).getEmployeeName());
+    }
+
+    EmployeeNameIndex(int rowCount, IntFunction<String> nameOfRow) {
+        lowerCaseNames = new String[rowCount];
+        final Map<String, String> lowerCased = new HashMap<>();
+        for (int row = 0; row < rowCount; row++) {
+            String name = nameOfRow.apply(row);
+            lowerCaseNames[row] = name == null ? null : lowerCased.computeIfAbsent(name, String::toLowerCase);
+        }
+
+        // first pass: assign an ordinal to every trigram and count the rows it occurs in
+        trigramOrdinals = new LongIntHashMap(1024);
+        int[] counts = new int[64];
+        long[] rowTrigrams = new long[32];
+        for (int row = 0; row < rowCount; row++) {
+            rowTrigrams = ensureCapacity(rowTrigrams, lowerCaseNames[row]);
+            final int distinct = distinctTrigrams(lowerCaseNames[row], rowTrigrams);
+            for (int i = 0; i < distinct; i++) {
+                int ordinal = trigramOrdinals.putIfAbsent(rowTrigrams[i], trigramOrdinals.size());
+                if (ordinal == counts.length) {
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+                }
+                counts[ordinal]++;
+            }
+        }
+
+        final int trigramCount = trigramOrdinals.size();
+        offsets = new int[trigramCount + 1];
+        for (int ordinal = 0; ordinal < trigramCount; ordinal++) {
+            offsets[ordinal + 1] = offsets[ordinal] + counts[ordinal];
+        }
+
+        // second pass: rows are visited in order, so every posting list comes out sorted
+        postings = new int[offsets[trigramCount]];
+        final int[] cursor = Arrays.copyOf(offsets, trigramCount);
+        for (int row = 0; row < rowCount; row++) {
+            final int distinct = distinctTrigrams(lowerCaseNames[row], rowTrigrams);
+            for (int i = 0; i < distinct; i++) {
+                postings[cursor[trigramOrdinals.get(rowTrigrams[i], NO_TRIGRAM)]++] = row;
+            }
+        }
+    }
+
+    /**
+     * The index of the next version, whose rows are the rows {@code patch} keeps followed by the added
+     * ones, named by {@code nameOfRow}. Only added names are lower-cased and split into trigrams.
+     */
+    EmployeeNameIndex(EmployeeNameIndex previous, RowPatch patch, IntFunction<String> nameOfRow) {
+        final int rowCount = patch.rowCount();
+        lowerCaseNames = new String[rowCount];
+        for (int row = 0; row < patch.previousRowCount(); row++) {
+            final int newRow = patch.newRow(row);
+            if (newRow != RowPatch.REMOVED) {
+                lowerCaseNames[newRow] = previous.lowerCaseNames[row];
+            }
+        }
+        for (int row = patch.keptCount(); row < rowCount; row++) {
+            final String name = nameOfRow.apply(row);
+            lowerCaseNames[row] = name == null ? null : name.toLowerCase();
+        }
+
+        // count the kept rows of every existing trigram, then the added rows, which may bring new trigrams
+        trigramOrdinals = new LongIntHashMap(previous.trigramOrdinals);
+        final int previousTrigramCount = previous.trigramOrdinals.size();
+        int[] counts = new int[Math.max(previousTrigramCount, 64)];
+        for (int ordinal = 0; ordinal < previousTrigramCount; ordinal++) {
+            for (int i = previous.offsets[ordinal]; i < previous.offsets[ordinal + 1]; i++) {
+                if (patch.newRow(previous.postings[i]) != RowPatch.REMOVED) {
+                    counts[ordinal]++;
+                }
+            }
+        }
+        long[] rowTrigrams = new long[32];
+        for (int row = patch.keptCount(); row < rowCount; row++) {
+            rowTrigrams = ensureCapacity(rowTrigrams, lowerCaseNames[row]);
+            final int distinct = distinctTrigrams(lowerCaseNames[row], rowTrigrams);
+            for (int i = 0; i < distinct; i++) {
+                int ordinal = trigramOrdinals.putIfAbsent(rowTrigrams[i], trigramOrdinals.size());
+                if (ordinal == counts.length) {
+                    counts = Arrays.copyOf(counts, counts.length * 2);
+                }
+                counts[ordinal]++;
+            }
+        }
+
+        final int trigramCount = trigramOrdinals.size();
+        offsets = new int[trigramCount + 1];
+        for (int ordinal = 0; ordinal < trigramCount; ordinal++) {
+            offsets[ordinal + 1] = offsets[ordinal] + counts[ordinal];
+        }
+
+        postings = new int[offsets[trigramCount]];
+        final int[] cursor = Arrays.copyOf(offsets, trigramCount);
+        for (int ordinal = 0; ordinal < previousTrigramCount; ordinal++) {
+            for (int i = previous.offsets[ordinal]; i < previous.offsets[ordinal + 1]; i++) {
+                final int newRow = patch.newRow(previous.postings[i]);
+                if (newRow != RowPatch.REMOVED) {
+                    postings[cursor[ordinal]++] = newRow;
+                }
+            }
+        }
+        for (int row = patch.keptCount(); row < rowCount; row++) {
+            final int distinct = distinctTrigrams(lowerCaseNames[row], rowTrigrams);
+            for (int i = 0; i < distinct; i++) {
+                postings[cursor[trigramOrdinals.get(rowTrigrams[i], NO_TRIGRAM)]++] = row;
+            }
+        }
+    }
+
+    /**
+     * Returns the rows whose lower-cased name contains the lower-cased search string, in ascending order.
+     */
+    int[] search(String searchString) {
+        final String needle = searchString.toLowerCase();
+        if (needle.length() < GRAM) {
+            return scan(needle);
+        }
+        final int[] ordinals = trigramOrdinalsByListLength(needle);
+        if (ordinals.length == 0) {
+            return NO_ROWS;
+        }
+        int[] candidates = Arrays.copyOfRange(postings, offsets[ordinals[0]], offsets[ordinals[0] + 1]);
+        for (int i = 1; i < ordinals.length && candidates.length > 0; i++) {
+            candidates = intersect(candidates, offsets[ordinals[i]], offsets[ordinals[i] + 1]);
+        }
+        int matchCount = 0;
+        for (int candidate : candidates) {
+            if (lowerCaseNames[candidate].contains(needle)) {
+                candidates[matchCount++] = candidate;
+            }
+        }
+        return matchCount == candidates.length ? candidates : Arrays.copyOf(candidates, matchCount);
+    }
+
+    private int[] scan(String needle) {
+        int[] matches = new int[16];
+        int matchCount = 0;
+        for (int row = 0; row < lowerCaseNames.length; row++) {
+            if (lowerCaseNames[row] != null && lowerCaseNames[row].contains(needle)) {
+                if (matchCount == matches.length) {
+                    matches = Arrays.copyOf(matches, matches.length * 2);
+                }
+                matches[matchCount++] = row;
+            }
+        }
+        return Arrays.copyOf(matches, matchCount);
+    }
+
+    /**
+     * Ordinals of the needle's distinct trigrams, shortest posting list first, or none at all when
+     * one of the trigrams never occurs in any name.
+     */
+    private int[] trigramOrdinalsByListLength(String needle) {
+        final long[] needleTrigrams = new long[needle.length()];
+        final int distinct = distinctTrigrams(needle, needleTrigrams);
+        final long[] lengthAndOrdinal = new long[distinct];
+        for (int i = 0; i < distinct; i++) {
+            int ordinal = trigramOrdinals.get(needleTrigrams[i], NO_TRIGRAM);
+            if (ordinal == NO_TRIGRAM) {
+                return NO_ROWS;
+            }
+            lengthAndOrdinal[i] = ((long) (offsets[ordinal + 1] - offsets[ordinal]) << 32) | ordinal;
+        }
+        Arrays.sort(lengthAndOrdinal);
+        final int[] ordinals = new int[distinct];
+        for (int i = 0; i < distinct; i++) {
+            ordinals[i] = (int) lengthAndOrdinal[i];
+        }
+        return ordinals;
+    }
+
+    /**
+     * Keeps the candidates that also occur in {@code postings[from, to)}, galloping through the
+     * usually much longer posting list.
+     */
+    private int[] intersect(int[] candidates, int from, int to) {
+        int size = 0;
+        int position = from;
+        for (int i = 0; i < candidates.length && position < to; i++) {
+            final int row = candidates[i];
+            position = advance(position, to, row);
+            if (position < to && postings[position] == row) {
+                candidates[size++] = row;
+            }
+        }
+        return size == candidates.length ? candidates : Arrays.copyOf(candidates, size);
+    }
+
+    /**
+     * First position in {@code postings[from, to)} whose row is not below {@code row}.
+     */
+    private int advance(int from, int to, int row) {
+        int low = from;
+        int high = from;
+        int step = 1;
+        while (high < to && postings[high] < row) {
+            low = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        high = Math.min(high, to);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (postings[mid] < row) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long[] ensureCapacity(long[] buffer, String value) {
+        return value == null || value.length() <= buffer.length ? buffer : new long[value.length()];
+    }
+
+    /**
+     * Writes the distinct trigrams of {@code value} into {@code buffer}, which must hold at least
+     * {@code value.length()} entries, and returns how many there are.
+     */
+    private static int distinctTrigrams(String value, long[] buffer) {
+        if (value == null || value.length() < GRAM) {
+            return 0;
+        }
+        final int trigramCount = value.length() - GRAM + 1;
+        for (int i = 0; i < trigramCount; i++) {
+            buffer[i] = ((long) value.charAt(i) << 32) | ((long) value.charAt(i + 1) << 16) | value.charAt(i + 2);
+        }
+        Arrays.sort(buffer, 0, trigramCount);
+        int distinct = 0;
+        for (int i = 0; i < trigramCount; i++) {
+            if (i == 0 || buffer[i] != buffer[i - 1]) {
+                buffer[distinct++] = buffer[i];
+            }
+        }
+        return distinct;
+    }
+}
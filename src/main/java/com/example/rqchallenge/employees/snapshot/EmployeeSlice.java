@@ -0,0 +1,16 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * A run of consecutive employees out of an ordered result of {@code total} employees.
+ */
+@Value
+public class EmployeeSlice {
+
+    List<Employee> employees;
+    int total;
+}
@@ -0,0 +1,287 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.util.EmployeeRankingUtil;
+import com.example.rqchallenge.employees.util.LongIntHashMap;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable view of the full employee dataset as last loaded from the external API.
+ * The version only moves forward when the dataset content actually changes. Lookup indexes are
+ * built once per version, by whoever publishes that version, so readers never pay for them.
+ * <p>
+ * Rows are held by the {@link EmployeeStorage} the snapshot was built with. Lookups, search and
+ * ranking run over the row numbers and only fetch the employees they return. Salary and age
+ * {@link EmployeeStatistics} are kept alongside.
+ * <p>
+ * Local writes go through {@link #patched}, which derives every index of the next version from this
+ * one instead of building it again: nothing is re-sorted or re-hashed apart from the changed rows.
+ */
+@Getter
+public class EmployeeSnapshot {
+
+    private static final int NO_ROW = -1;
+
+    private final long version;
+    private final Instant loadedAt;
+    private final EmployeeStorage storage;
+    private final EmployeeStatistics statistics;
+    @Getter(AccessLevel.NONE)
+    private final EmployeeTable table;
+    @Getter(AccessLevel.NONE)
+    private final LongIntHashMap idIndex;
+    @Getter(AccessLevel.NONE)
+    private final EmployeeNameIndex nameIndex;
+    @Getter(AccessLevel.NONE)
+    private final int[] salaryOrder;
+    @Getter(AccessLevel.NONE)
+    private final EmployeeSortOrders sortOrders;
+
+    EmployeeSnapshot(long version, Instant loadedAt, List<Employee> employees) {
+        this(version, loadedAt, employees, EmployeeStorage.OBJECTS);
+    }
+
+    EmployeeSnapshot(long version, Instant loadedAt, List<Employee> employees, EmployeeStorage storage) {
+        this(version, loadedAt, storage, storage.tableOf(employees), null);
+    }
+
+    private EmployeeSnapshot(long version, Instant loadedAt, EmployeeStorage storage, EmployeeTable table, EmployeeStatistics statistics) {
+        this(version, loadedAt, storage, table, statistics == null ? EmployeeStatistics.of(table) : statistics, buildIdIndex(table),
+                new EmployeeNameIndex(table.size(), table::name),
+                EmployeeRankingUtil.salaryOrder(table.size(), table::hasSalary, table::salary), new EmployeeSortOrders(table));
+    }
+
+    private EmployeeSnapshot(long version, Instant loadedAt, EmployeeStorage storage, EmployeeTable table, EmployeeStatistics statistics,
+                             LongIntHashMap idIndex, EmployeeNameIndex nameIndex, int[] salaryOrder, EmployeeSortOrders sortOrders) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.storage = storage;
+        this.table = table;
+        this.statistics = statistics;
+        this.idIndex = idIndex;
+        this.nameIndex = nameIndex;
+        this.salaryOrder = salaryOrder;
+        this.sortOrders = sortOrders;
+    }
+
+    private EmployeeSnapshot(EmployeeSnapshot source, Instant loadedAt) {
+        this.version = source.version;
+        this.loadedAt = loadedAt;
+        this.storage = source.storage;
+        this.statistics = source.statistics;
+        this.table = source.table;
+        this.idIndex = source.idIndex;
+        this.nameIndex = source.nameIndex;
+        this.salaryOrder = source.salaryOrder;
+        this.sortOrders = source.sortOrders;
+    }
+
+    /**
+     * All employees in dataset order. With columnar storage the list builds each employee as it is read.
+     */
+    public List<Employee> getEmployees() {
+        return table.asList();
+    }
+
+    public Duration getAge(Instant now) {
+        return Duration.between(loadedAt, now);
+    }
+
+    public Optional<Employee> findById(int id) {
+        final int row = idIndex.get(id, NO_ROW);
+        return row == NO_ROW ? Optional.empty() : Optional.of(table.get(row));
+    }
+
+    /**
+     * Employees whose name contains the search string, ignoring case, in dataset order.
+     */
+    public List<Employee> searchByName(String searchString) {
+        return employeesAt(nameIndex.search(searchString));
+    }
+
+    /**
+     * Up to {@code limit} employees starting at position {@code from} of the whole dataset, sorted by
+     * {@code sort} or in dataset order when it is {@code null}. Employees missing the sort field come
+     * last in either direction, in dataset order; descending reverses only the employees that have it.
+     * Positions stay valid for the life of this version, so reading any page costs {@code limit} row
+     * lookups.
+     */
+    public EmployeeSlice slice(EmployeeSort sort, boolean descending, int from, int limit) {
+        if (sort == null) {
+            return slice(table.size(), table.size(), position -> position, descending, from, limit);
+        }
+        final int[] order = sortOrders.order(sort);
+        return slice(order.length, sortOrders.keyedCount(sort), position -> order[position], descending, from, limit);
+    }
+
+    /**
+     * Same as {@link #slice} over the employees matching a name search. Matches are put in sort order
+     * through their precomputed positions, a primitive sort of the matches only.
+     */
+    public EmployeeSlice searchSlice(String searchString, EmployeeSort sort, boolean descending, int from, int limit) {
+        final int[] matches = nameIndex.search(searchString);
+        int keyedMatches = matches.length;
+        if (sort != null) {
+            final int[] positions = sortOrders.positions(sort);
+            final int[] order = sortOrders.order(sort);
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = positions[matches[i]];
+            }
+            Arrays.sort(matches);
+            // matches at positions past the keyed rows are the ones missing the field
+            final int insertionPoint = Arrays.binarySearch(matches, sortOrders.keyedCount(sort));
+            keyedMatches = insertionPoint >= 0 ? insertionPoint : -insertionPoint - 1;
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = order[matches[i]];
+            }
+        }
+        return slice(matches.length, keyedMatches, position -> matches[position], descending, from, limit);
+    }
+
+    public Optional<Integer> highestSalary() {
+        return salaryOrder.length == 0 ? Optional.empty() : Optional.of(table.salary(salaryOrder[0]));
+    }
+
+    /**
+     * The {@code k} highest earners, highest first, with ties in dataset order. Returns fewer when the
+     * snapshot holds fewer ranked employees.
+     */
+    public List<Employee> topEarners(int k) {
+        final int count = Math.min(Math.max(k, 0), salaryOrder.length);
+        List<Employee> topEarners = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            topEarners.add(table.get(salaryOrder[i]));
+        }
+        return topEarners;
+    }
+
+    /**
+     * Number of employees with a salary, which are the ones ranked by salary.
+     */
+    public int getRankedCount() {
+        return salaryOrder.length;
+    }
+
+    /**
+     * The salary at position {@code rank} among the ranked employees, counting from the lowest salary.
+     */
+    public int salaryAtRank(int rank) {
+        return table.salary(salaryOrder[salaryOrder.length - 1 - Objects.checkIndex(rank, salaryOrder.length)]);
+    }
+
+    boolean hasSameEmployees(List<Employee> employees) {
+        return table.contentEquals(employees);
+    }
+
+    EmployeeSnapshot revalidated(Instant revalidatedAt) {
+        return new EmployeeSnapshot(this, revalidatedAt);
+    }
+
+    /**
+     * Rows holding an employee whose id is one of {@code ids}, ascending, found with a scan of the id
+     * column. A {@code null} id stands for the rows without one.
+     */
+    int[] rowsWithIds(Collection<Integer> ids) {
+        final LongIntHashMap wanted = new LongIntHashMap(ids.size());
+        final boolean withoutId = ids.contains(null);
+        ids.stream().filter(Objects::nonNull).forEach(id -> wanted.putIfAbsent(id, 0));
+        return IntStream.range(0, table.size())
+                .filter(row -> table.hasId(row) ? wanted.get(table.id(row), NO_ROW) != NO_ROW : withoutId)
+                .toArray();
+    }
+
+    List<Employee> employeesAt(int[] rows) {
+        List<Employee> employees = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            employees.add(table.get(row));
+        }
+        return employees;
+    }
+
+    /**
+     * The next version, holding this version's employees without {@code removedRows} and with
+     * {@code added} after them. {@code removedRows} must be {@link #rowsWithIds} of every id removed or
+     * added, so that no id of the next version is shared between a kept and an added row.
+     * <p>
+     * Every index is derived from this version's: the id index is copied and its rows renumbered, kept
+     * posting lists and sort orders are renumbered and the added rows merged in, and statistics are
+     * adjusted by the difference. Only the added rows are sorted, so a write costs a few array copies
+     * rather than a rebuild of the whole snapshot.
+     */
+    EmployeeSnapshot patched(long version, List<Employee> added, int[] removedRows) {
+        final RowPatch patch = new RowPatch(table.size(), removedRows, added.size());
+        final EmployeeTable patchedTable = table.patched(patch, added);
+        final LongIntHashMap patchedIdIndex = new LongIntHashMap(idIndex);
+        for (int row : removedRows) {
+            if (table.hasId(row)) {
+                patchedIdIndex.remove(table.id(row));
+            }
+        }
+        patchedIdIndex.replaceValues(patch::newRow);
+        for (int row = patch.keptCount(); row < patch.rowCount(); row++) {
+            if (patchedTable.hasId(row)) {
+                patchedIdIndex.put(patchedTable.id(row), row);
+            }
+        }
+        return new EmployeeSnapshot(version, loadedAt, storage, patchedTable,
+                statistics.withChanges(added, employeesAt(removedRows)),
+                patchedIdIndex,
+                new EmployeeNameIndex(nameIndex, patch, patchedTable::name),
+                patch.mergeAdded(patch.renumber(salaryOrder), patchedTable::hasSalary, bySalaryDescending(patchedTable)),
+                new EmployeeSortOrders(sortOrders, patch, patchedTable));
+    }
+
+    EmployeeSnapshot withStorage(EmployeeStorage storage) {
+        return storage == this.storage ? this : new EmployeeSnapshot(version, loadedAt, getEmployees(), storage);
+    }
+
+    /**
+     * Reads positions {@code [from, from + limit)} of an ascending order of {@code total} rows whose first
+     * {@code keyed} rows have the sort field. Descending reads those first rows backwards and leaves the
+     * rest where they are, so rows missing the field stay last.
+     */
+    private EmployeeSlice slice(int total, int keyed, IntUnaryOperator rowAt, boolean descending, int from, int limit) {
+        final int end = (int) Math.min(total, (long) from + limit);
+        final List<Employee> employees = new ArrayList<>(Math.max(end - from, 0));
+        for (int position = from; position < end; position++) {
+            employees.add(table.get(rowAt.applyAsInt(descending && position < keyed ? keyed - 1 - position : position)));
+        }
+        return new EmployeeSlice(employees, total);
+    }
+
+    /**
+     * The order of {@link EmployeeRankingUtil#salaryOrder}: highest salary first, ties in dataset order.
+     */
+    private static RowPatch.RowComparator bySalaryDescending(EmployeeTable table) {
+        return (row, otherRow) -> {
+            final int bySalary = Integer.compare(table.salary(otherRow), table.salary(row));
+            return bySalary != 0 ? bySalary : Integer.compare(row, otherRow);
+        };
+    }
+
+    /**
+     * Maps ids to rows. Rows are added last to first so that, as before, the last of several employees
+     * sharing an id wins.
+     */
+    private static LongIntHashMap buildIdIndex(EmployeeTable table) {
+        LongIntHashMap index = new LongIntHashMap(table.size());
+        for (int row = table.size() - 1; row >= 0; row--) {
+            if (table.hasId(row)) {
+                index.putIfAbsent(table.id(row), row);
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published whenever the snapshot moves to a new version, either because the dataset was reloaded
+ * from the external API or because local writes were patched into it. Patches carry the employees
+ * that were added and removed so listeners can update derived state instead of discarding it.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class EmployeeSnapshotChangedEvent {
+
+    private final long previousVersion;
+    private final EmployeeSnapshot snapshot;
+    private final boolean fullReload;
+    private final List<Employee> added;
+    private final List<Employee> removed;
+
+    static EmployeeSnapshotChangedEvent reloaded(long previousVersion, EmployeeSnapshot snapshot) {
+        return new EmployeeSnapshotChangedEvent(previousVersion, snapshot, true, List.of(), List.of());
+    }
+
+    static EmployeeSnapshotChangedEvent patched(long previousVersion, EmployeeSnapshot snapshot, List<Employee> added, List<Employee> removed) {
+        return new EmployeeSnapshotChangedEvent(previousVersion, snapshot, false, List.copyOf(added), List.copyOf(removed));
+    }
+}
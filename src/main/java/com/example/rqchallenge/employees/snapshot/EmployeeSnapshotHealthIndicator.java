@@ -0,0 +1,40 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the age and refresh history of the employee snapshot under {@code /actuator/health}.
+ * The indicator goes DOWN once the snapshot is older than the configured max staleness.
+ */
+@RequiredArgsConstructor
+@Component("employeeSnapshot")
+public class EmployeeSnapshotHealthIndicator implements HealthIndicator {
+
+    private final EmployeeSnapshotManager employeeSnapshotManager;
+
+    @Override
+    public Health health() {
+        EmployeeSnapshotStatus status = employeeSnapshotManager.getStatus();
+        Health.Builder builder = !status.isLoaded() ? Health.unknown() : status.isStale() ? Health.down() : Health.up();
+        builder.withDetail("refreshInterval", status.getRefreshInterval().toString())
+                .withDetail("maxStaleness", status.getMaxStaleness().toString())
+                .withDetail("refreshFailures", status.getRefreshFailures())
+                .withDetail("consecutiveRefreshFailures", status.getConsecutiveRefreshFailures());
+        if (status.isLoaded()) {
+            builder.withDetail("version", status.getVersion())
+                    .withDetail("size", status.getSize())
+                    .withDetail("loadedAt", status.getLoadedAt().toString())
+                    .withDetail("age", status.getAge().toString());
+        }
+        if (status.getLastRefreshAttempt() != null) {
+            builder.withDetail("lastRefreshAttempt", status.getLastRefreshAttempt().toString());
+        }
+        if (status.getLastRefreshError() != null) {
+            builder.withDetail("lastRefreshError", status.getLastRefreshError());
+        }
+        return builder.build();
+    }
+}
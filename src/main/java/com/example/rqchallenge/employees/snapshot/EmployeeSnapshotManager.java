@@ -0,0 +1,354 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.client.Deadline;
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.util.SingleFlight;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the in-memory employee snapshot and keeps it fresh in the background.
+ * <p>
+ * Only the very first read waits on the external API. After that reads are served from memory
+ * (stale-while-revalidate): a read that finds the snapshot older than the refresh interval hands
+ * a refresh to the background thread and returns the current snapshot straight away.
+ * <p>
+ * When an {@link EmployeeSnapshotStore} is configured, every published snapshot is also written to
+ * disk from the background thread, and a restarted instance starts out with the copy on disk,
+ * reconciling it with the external API in the background.
+ * <p>
+ * Snapshots hold their rows in the configured {@link EmployeeStorage}.
+ * <p>
+ * Full loads, in the background or for the first read, run under their own {@link Deadline} rather
+ * than the one of an interactive request, since fetching the whole list can take much longer.
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshotManager {
+
+    private static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofMinutes(1);
+    private static final Duration DEFAULT_MAX_STALENESS = Duration.ofMinutes(10);
+    private static final Duration DEFAULT_REFRESH_DEADLINE = Duration.ofSeconds(30);
+
+    private final EmployeeApiClient employeeApiClient;
+    private final EmployeeSnapshotStore snapshotStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration refreshInterval;
+    private final Duration maxStaleness;
+    private final Duration refreshDeadline;
+    private final EmployeeStorage storage;
+    private final Clock clock;
+
+    private final AtomicReference<EmployeeSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<EmployeeSnapshot> pendingWrite = new AtomicReference<>();
+    private final SingleFlight<Boolean, EmployeeSnapshot> initialLoad = new SingleFlight<>();
+    private final AtomicBoolean refreshInFlight = new AtomicBoolean();
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final AtomicBoolean invalidated = new AtomicBoolean();
+    private final Object publishLock = new Object();
+    private final ScheduledExecutorService refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "employee-snapshot-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final AtomicLong consecutiveRefreshFailures = new AtomicLong();
+    private volatile Instant lastRefreshAttempt;
+    private volatile String lastRefreshError;
+
+    @Autowired
+    public EmployeeSnapshotManager(EmployeeApiClient employeeApiClient,
+                                   EmployeeSnapshotStore snapshotStore,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${employees.snapshot.refresh-interval:1m}") Duration refreshInterval,
+                                   @Value("${employees.snapshot.max-staleness:10m}") Duration maxStaleness,
+                                   @Value("${employees.snapshot.storage:objects}") EmployeeStorage storage,
+                                   @Value("${employees.snapshot.refresh-deadline:30s}") Duration refreshDeadline) {
+        this(employeeApiClient, snapshotStore, eventPublisher, refreshInterval, maxStaleness, storage, refreshDeadline, Clock.systemUTC());
+    }
+
+    public EmployeeSnapshotManager(EmployeeApiClient employeeApiClient, EmployeeSnapshotStore snapshotStore, ApplicationEventPublisher eventPublisher,
+                                   Duration refreshInterval, Duration maxStaleness, EmployeeStorage storage) {
+        this(employeeApiClient, snapshotStore, eventPublisher, refreshInterval, maxStaleness, storage, DEFAULT_REFRESH_DEADLINE);
+    }
+
+    public EmployeeSnapshotManager(EmployeeApiClient employeeApiClient, ApplicationEventPublisher eventPublisher,
+                                   Duration refreshInterval, Duration maxStaleness) {
+        this(employeeApiClient, EmployeeSnapshotStore.disabled(), eventPublisher, refreshInterval, maxStaleness, EmployeeStorage.OBJECTS,
+                DEFAULT_REFRESH_DEADLINE);
+    }
+
+    public EmployeeSnapshotManager(EmployeeApiClient employeeApiClient) {
+        this(employeeApiClient, event -> {
+        }, DEFAULT_REFRESH_INTERVAL, DEFAULT_MAX_STALENESS, Clock.systemUTC());
+    }
+
+    EmployeeSnapshotManager(EmployeeApiClient employeeApiClient, ApplicationEventPublisher eventPublisher,
+                            Duration refreshInterval, Duration maxStaleness, Clock clock) {
+        this(employeeApiClient, EmployeeSnapshotStore.disabled(), eventPublisher, refreshInterval, maxStaleness, clock);
+    }
+
+    EmployeeSnapshotManager(EmployeeApiClient employeeApiClient, EmployeeSnapshotStore snapshotStore, ApplicationEventPublisher eventPublisher,
+                            Duration refreshInterval, Duration maxStaleness, Clock clock) {
+        this(employeeApiClient, snapshotStore, eventPublisher, refreshInterval, maxStaleness, EmployeeStorage.OBJECTS, DEFAULT_REFRESH_DEADLINE, clock);
+    }
+
+    EmployeeSnapshotManager(EmployeeApiClient employeeApiClient, EmployeeSnapshotStore snapshotStore, ApplicationEventPublisher eventPublisher,
+                            Duration refreshInterval, Duration maxStaleness, EmployeeStorage storage, Duration refreshDeadline, Clock clock) {
+        this.employeeApiClient = employeeApiClient;
+        this.snapshotStore = snapshotStore;
+        this.eventPublisher = eventPublisher;
+        this.refreshInterval = refreshInterval;
+        this.maxStaleness = maxStaleness;
+        this.refreshDeadline = refreshDeadline;
+        this.storage = storage;
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void startScheduledRefresh() {
+        restoreFromStore();
+        final long intervalMillis = refreshInterval.toMillis();
+        refreshExecutor.scheduleWithFixedDelay(this::refresh, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Employee snapshot refresh scheduled every {} (max staleness {})", refreshInterval, maxStaleness);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns the current snapshot, loading it synchronously only if nothing has been loaded yet.
+     */
+    public EmployeeSnapshot current() {
+        EmployeeSnapshot current = snapshot.get();
+        if (current == null) {
+            return loadInitialSnapshot();
+        }
+        if (invalidated.get() || isRefreshDue(current, clock.instant())) {
+            refreshInBackground();
+        }
+        return current;
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #current()}. When nothing has been loaded yet, concurrent
+     * subscribers share a single upstream load instead of parking a thread each. The loaded snapshot
+     * is built and published on the bounded elastic scheduler, off the event loop that received it.
+     */
+    public Mono<EmployeeSnapshot> currentAsync() {
+        return Mono.defer(() -> snapshot.get() == null ? initialLoadAsync() : Mono.just(current()));
+    }
+
+    /**
+     * Returns the current snapshot without ever triggering a load.
+     */
+    public Optional<EmployeeSnapshot> peek() {
+        return Optional.ofNullable(snapshot.get());
+    }
+
+    /**
+     * Marks the snapshot as out of date so the next read revalidates it in the background.
+     */
+    public void invalidate() {
+        invalidated.set(true);
+    }
+
+    /**
+     * Patches local writes into the current snapshot without going back to the external API.
+     * Added employees replace any existing employee with the same id. The next version's indexes are
+     * derived from the current ones, see {@link EmployeeSnapshot#patched}. Nothing happens if no
+     * snapshot has been loaded yet, since the first load will pick the writes up anyway.
+     */
+    public void applyChanges(Collection<Employee> added, Collection<Integer> removedIds) {
+        synchronized (publishLock) {
+            final EmployeeSnapshot current = snapshot.get();
+            if (current == null || (added.isEmpty() && removedIds.isEmpty())) {
+                return;
+            }
+            final Set<Integer> replacedIds = new HashSet<>(removedIds);
+            added.forEach(employee -> replacedIds.add(employee.getId()));
+            final int[] removedRows = current.rowsWithIds(replacedIds);
+            final List<Employee> removed = current.employeesAt(removedRows);
+            final EmployeeSnapshot patched = current.patched(current.getVersion() + 1, List.copyOf(added), removedRows);
+            snapshot.set(patched);
+            persist(patched);
+            log.info("Employee snapshot v{} patched: {} added, {} removed", patched.getVersion(), added.size(), removed.size());
+            eventPublisher.publishEvent(EmployeeSnapshotChangedEvent.patched(current.getVersion(), patched, List.copyOf(added), removed));
+        }
+    }
+
+    public void refreshInBackground() {
+        if (refreshQueued.compareAndSet(false, true)) {
+            refreshExecutor.execute(() -> {
+                refreshQueued.set(false);
+                refresh();
+            });
+        }
+    }
+
+    /**
+     * Reloads the dataset from the external API. Failures are recorded and the previous
+     * snapshot keeps being served.
+     *
+     * @return {@code true} if the snapshot was reloaded
+     */
+    public boolean refresh() {
+        if (!refreshInFlight.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            lastRefreshAttempt = clock.instant();
+            invalidated.set(false);
+            publish(fetchAllEmployees().block());
+            recordRefreshSuccess();
+            return true;
+        } catch (RuntimeException e) {
+            recordRefreshFailure(e);
+            log.warn("Employee snapshot refresh failed ({} consecutive failures): {}", consecutiveRefreshFailures.get(), e.getMessage());
+            return false;
+        } finally {
+            refreshInFlight.set(false);
+        }
+    }
+
+    public EmployeeSnapshotStatus getStatus() {
+        final Instant now = clock.instant();
+        final EmployeeSnapshot current = snapshot.get();
+        return EmployeeSnapshotStatus.builder()
+                .loaded(current != null)
+                .version(current == null ? 0 : current.getVersion())
+                .size(current == null ? 0 : current.getEmployees().size())
+                .loadedAt(current == null ? null : current.getLoadedAt())
+                .age(current == null ? null : current.getAge(now))
+                .stale(current != null && current.getAge(now).compareTo(maxStaleness) > 0)
+                .refreshInterval(refreshInterval)
+                .maxStaleness(maxStaleness)
+                .lastRefreshAttempt(lastRefreshAttempt)
+                .refreshFailures(refreshFailures.get())
+                .consecutiveRefreshFailures(consecutiveRefreshFailures.get())
+                .lastRefreshError(lastRefreshError)
+                .build();
+    }
+
+    private boolean isRefreshDue(EmployeeSnapshot current, Instant now) {
+        // a failing upstream is retried at most once per interval rather than on every read
+        final Instant lastAttempt = lastRefreshAttempt;
+        return current.getAge(now).compareTo(refreshInterval) >= 0
+                && (lastAttempt == null || Duration.between(lastAttempt, now).compareTo(refreshInterval) >= 0);
+    }
+
+    /**
+     * Blocking callers wait on the same shared load as reactive ones, so they all see its result or
+     * its error and a failed first load is not repeated once per waiting thread.
+     */
+    private EmployeeSnapshot loadInitialSnapshot() {
+        return initialLoadAsync().block();
+    }
+
+    private Mono<EmployeeSnapshot> initialLoadAsync() {
+        return initialLoad.execute(Boolean.TRUE, () -> {
+            EmployeeSnapshot current = snapshot.get();
+            if (current != null) {
+                return Mono.just(current);
+            }
+            return fetchAllEmployees()
+                    .doOnSubscribe(subscription -> lastRefreshAttempt = clock.instant())
+                    .publishOn(Schedulers.boundedElastic())
+                    .map(this::publish)
+                    .doOnSuccess(loaded -> recordRefreshSuccess())
+                    .doOnError(RuntimeException.class, this::recordRefreshFailure);
+        });
+    }
+
+    /**
+     * The deadline is fixed when the load is subscribed, so a load queued behind another one gets the whole of it.
+     */
+    private Mono<List<Employee>> fetchAllEmployees() {
+        return employeeApiClient.getAllEmployees()
+                .contextWrite(context -> context.put(Deadline.class, Deadline.after(refreshDeadline)));
+    }
+
+    private void recordRefreshSuccess() {
+        consecutiveRefreshFailures.set(0);
+        lastRefreshError = null;
+    }
+
+    private void recordRefreshFailure(RuntimeException e) {
+        refreshFailures.incrementAndGet();
+        consecutiveRefreshFailures.incrementAndGet();
+        lastRefreshError = e.getMessage();
+    }
+
+    private EmployeeSnapshot publish(List<Employee> employees) {
+        synchronized (publishLock) {
+            final Instant now = clock.instant();
+            final EmployeeSnapshot previous = snapshot.get();
+            if (previous != null && previous.hasSameEmployees(employees)) {
+                EmployeeSnapshot revalidated = previous.revalidated(now);
+                snapshot.set(revalidated);
+                persist(revalidated);
+                log.debug("Employee snapshot v{} revalidated, no changes", previous.getVersion());
+                return revalidated;
+            }
+            final long previousVersion = previous == null ? 0 : previous.getVersion();
+            EmployeeSnapshot next = new EmployeeSnapshot(previousVersion + 1, now, employees, storage);
+            snapshot.set(next);
+            persist(next);
+            log.info("Employee snapshot v{} loaded with {} employees", next.getVersion(), employees.size());
+            eventPublisher.publishEvent(EmployeeSnapshotChangedEvent.reloaded(previousVersion, next));
+            return next;
+        }
+    }
+
+    /**
+     * Starts out with the snapshot on disk, if there is a recent enough one, and reconciles it with
+     * the external API in the background. No change event is published: nothing has been served yet.
+     */
+    private void restoreFromStore() {
+        snapshotStore.read(clock.instant()).map(stored -> stored.withStorage(storage)).ifPresent(restored -> {
+            synchronized (publishLock) {
+                if (snapshot.compareAndSet(null, restored)) {
+                    log.info("Employee snapshot v{} with {} employees restored from disk, loaded at {}",
+                            restored.getVersion(), restored.getEmployees().size(), restored.getLoadedAt());
+                    refreshInBackground();
+                }
+            }
+        });
+    }
+
+    /**
+     * Hands the snapshot to the background thread for writing. Snapshots published while a write is
+     * pending replace the pending one, so a burst of patches costs a single write.
+     */
+    private void persist(EmployeeSnapshot published) {
+        if (snapshotStore.isEnabled() && pendingWrite.getAndSet(published) == null) {
+            refreshExecutor.execute(() -> snapshotStore.write(pendingWrite.getAndSet(null)));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@Getter
+@Builder
+public class EmployeeSnapshotStatus {
+
+    private final boolean loaded;
+    private final long version;
+    private final int size;
+    private final Instant loadedAt;
+    private final Duration age;
+    private final boolean stale;
+    private final Duration refreshInterval;
+    private final Duration maxStaleness;
+    private final Instant lastRefreshAttempt;
+    private final long refreshFailures;
+    private final long consecutiveRefreshFailures;
+    private final String lastRefreshError;
+}
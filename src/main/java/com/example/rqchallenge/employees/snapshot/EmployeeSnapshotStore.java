@@ -0,0 +1,223 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Keeps a copy of the latest employee snapshot on disk so a restarted instance can serve straight
+ * away instead of waiting on, and stampeding, the external API.
+ * <p>
+ * The file holds a header (magic, format version, snapshot version, load time and employee count),
+ * one compact binary record per employee and a trailing CRC32C of everything before it. It is
+ * written to a temporary file and moved into place, so readers never see a half-written snapshot.
+ * At startup the file is memory-mapped and only used if its checksum matches and it is younger
+ * than the configured maximum age. Any other file is ignored, never trusted in part.
+ * <p>
+ * Disabled when {@code employees.snapshot.file} is empty.
+ */
+@Slf4j
+@Component
+public class EmployeeSnapshotStore {
+
+    private static final int MAGIC = 0x454D504C; // "EMPL"
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + Long.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int CHECKSUM_BYTES = Integer.BYTES;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_SALARY = 1 << 2;
+    private static final int HAS_AGE = 1 << 3;
+    private static final int HAS_PROFILE_IMAGE = 1 << 4;
+
+    private final Path file;
+    private final Duration maxAge;
+
+    @Autowired
+    public EmployeeSnapshotStore(@Value("${employees.snapshot.file:}") String file,
+                                 @Value("${employees.snapshot.file-max-age:1h}") Duration maxAge) {
+        this.file = file.isBlank() ? null : Path.of(file);
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * A store that neither writes nor reads anything.
+     */
+    public static EmployeeSnapshotStore disabled() {
+        return new EmployeeSnapshotStore("", Duration.ZERO);
+    }
+
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Replaces the file with the given snapshot. Failures are logged; the in-memory snapshot stays
+     * authoritative either way.
+     */
+    public void write(EmployeeSnapshot snapshot) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            final Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            final Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                writeTo(temporary, snapshot);
+                moveIntoPlace(temporary);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            log.debug("Employee snapshot v{} written to {}", snapshot.getVersion(), file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write employee snapshot v{} to {}: {}", snapshot.getVersion(), file, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the snapshot back, or returns nothing when there is no usable file: missing, corrupt, of
+     * another format version or older than the maximum age at {@code now}.
+     */
+    public Optional<EmployeeSnapshot> read(Instant now) {
+        if (!isEnabled() || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size < HEADER_BYTES + CHECKSUM_BYTES || size > Integer.MAX_VALUE) {
+                log.warn("Ignoring employee snapshot {}: unexpected size {}", file, size);
+                return Optional.empty();
+            }
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final int contentBytes = (int) size - CHECKSUM_BYTES;
+            final CRC32C checksum = new CRC32C();
+            checksum.update(mapped.slice().limit(contentBytes));
+            if ((int) checksum.getValue() != mapped.getInt(contentBytes)) {
+                log.warn("Ignoring employee snapshot {}: checksum mismatch", file);
+                return Optional.empty();
+            }
+            return decode(mapped.slice().limit(contentBytes), now);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring employee snapshot {}: {}", file, e.toString());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<EmployeeSnapshot> decode(ByteBuffer buffer, Instant now) {
+        if (buffer.getInt() != MAGIC || buffer.getShort() != FORMAT_VERSION) {
+            log.warn("Ignoring employee snapshot {}: not a version {} snapshot file", file, FORMAT_VERSION);
+            return Optional.empty();
+        }
+        final long version = buffer.getLong();
+        final Instant loadedAt = Instant.ofEpochMilli(buffer.getLong());
+        final Duration age = Duration.between(loadedAt, now);
+        if (age.compareTo(maxAge) > 0) {
+            log.info("Ignoring employee snapshot {}: v{} is {} old, more than the allowed {}", file, version, age, maxAge);
+            return Optional.empty();
+        }
+        final int count = buffer.getInt();
+        final List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int present = buffer.get();
+            employees.add(Employee.builder()
+                    .id((present & HAS_ID) != 0 ? buffer.getInt() : null)
+                    .employeeName((present & HAS_NAME) != 0 ? readString(buffer) : null)
+                    .employeeSalary((present & HAS_SALARY) != 0 ? buffer.getInt() : null)
+                    .employeeAge((present & HAS_AGE) != 0 ? buffer.getInt() : null)
+                    .profileImage((present & HAS_PROFILE_IMAGE) != 0 ? readString(buffer) : null)
+                    .build());
+        }
+        if (buffer.hasRemaining()) {
+            log.warn("Ignoring employee snapshot {}: {} trailing bytes", file, buffer.remaining());
+            return Optional.empty();
+        }
+        return Optional.of(new EmployeeSnapshot(version, loadedAt, employees));
+    }
+
+    private static void writeTo(Path target, EmployeeSnapshot snapshot) throws IOException {
+        try (OutputStream fileOut = Files.newOutputStream(target)) {
+            final CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(fileOut), new CRC32C());
+            final DataOutputStream out = new DataOutputStream(checked);
+            final List<Employee> employees = snapshot.getEmployees();
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeLong(snapshot.getVersion());
+            out.writeLong(snapshot.getLoadedAt().toEpochMilli());
+            out.writeInt(employees.size());
+            for (Employee employee : employees) {
+                out.writeByte(presence(employee));
+                if (employee.getId() != null) {
+                    out.writeInt(employee.getId());
+                }
+                if (employee.getEmployeeName() != null) {
+                    writeString(out, employee.getEmployeeName());
+                }
+                if (employee.getEmployeeSalary() != null) {
+                    out.writeInt(employee.getEmployeeSalary());
+                }
+                if (employee.getEmployeeAge() != null) {
+                    out.writeInt(employee.getEmployeeAge());
+                }
+                if (employee.getProfileImage() != null) {
+                    writeString(out, employee.getProfileImage());
+                }
+            }
+            out.flush();
+            // the checksum covers everything written so far and is itself left out of it
+            new DataOutputStream(fileOut).writeInt((int) checked.getChecksum().getValue());
+        }
+    }
+
+    private void moveIntoPlace(Path temporary) throws IOException {
+        try {
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static int presence(Employee employee) {
+        return (employee.getId() != null ? HAS_ID : 0)
+                | (employee.getEmployeeName() != null ? HAS_NAME : 0)
+                | (employee.getEmployeeSalary() != null ? HAS_SALARY : 0)
+                | (employee.getEmployeeAge() != null ? HAS_AGE : 0)
+                | (employee.getProfileImage() != null ? HAS_PROFILE_IMAGE : 0);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.rqchallenge.employees.snapshot;
+
+/**
+ * Fields the employee list can be sorted by.
+ */
+public enum EmployeeSort {
+    SALARY, NAME, AGE
+}
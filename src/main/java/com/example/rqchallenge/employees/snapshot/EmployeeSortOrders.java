@@ -0,0 +1,196 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Rows of one snapshot version sorted by each {@link EmployeeSort}, ascending, with ties in dataset
+ * order and rows missing the field after all others. Each order, and its inverse mapping rows to
+ * positions, is built the first time it is asked for and then kept for the life of the version, so
+ * paging through a sorted list never sorts again.
+ * <p>
+ * A patched version carries over the orders built so far, renumbered, with the added rows merged in;
+ * the others stay lazy.
+ * <p>
+ * Two threads asking for the same order at once may both build it; both get identical arrays and
+ * only one is kept.
+ */
+class EmployeeSortOrders {
+
+    private static final Comparator<String> NAME_ORDER = String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    private final EmployeeTable table;
+    private final AtomicReferenceArray<int[]> orders = new AtomicReferenceArray<>(EmployeeSort.values().length);
+    private final AtomicReferenceArray<int[]> positions = new AtomicReferenceArray<>(EmployeeSort.values().length);
+
+    EmployeeSortOrders(EmployeeTable table) {
+        this.table = table;
+    }
+
+    /**
+     * The orders of the next version, held in {@code table}, derived from the ones {@code previous}
+     * has built.
+     */
+    EmployeeSortOrders(EmployeeSortOrders previous, RowPatch patch, EmployeeTable table) {
+        this.table = table;
+        for (EmployeeSort sort : EmployeeSort.values()) {
+            final int[] order = previous.orders.get(sort.ordinal());
+            if (order != null) {
+                orders.set(sort.ordinal(), patch.mergeAdded(patch.renumber(order), row -> true, comparator(sort)));
+            }
+        }
+    }
+
+    /**
+     * Row numbers in sorted order.
+     */
+    int[] order(EmployeeSort sort) {
+        final int[] order = orders.get(sort.ordinal());
+        if (order != null) {
+            return order;
+        }
+        orders.compareAndSet(sort.ordinal(), null, build(sort));
+        return orders.get(sort.ordinal());
+    }
+
+    /**
+     * Position of every row in {@link #order(EmployeeSort)}, indexed by row number.
+     */
+    int[] positions(EmployeeSort sort) {
+        final int[] rowPositions = positions.get(sort.ordinal());
+        if (rowPositions != null) {
+            return rowPositions;
+        }
+        final int[] order = order(sort);
+        final int[] inverse = new int[order.length];
+        for (int position = 0; position < order.length; position++) {
+            inverse[order[position]] = position;
+        }
+        positions.compareAndSet(sort.ordinal(), null, inverse);
+        return positions.get(sort.ordinal());
+    }
+
+    /**
+     * Number of rows that have the {@code sort} field, which are the first ones of its order.
+     */
+    int keyedCount(EmployeeSort sort) {
+        final int[] order = order(sort);
+        final IntPredicate hasKey = hasKey(sort);
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (hasKey.test(order[mid])) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int[] build(EmployeeSort sort) {
+        switch (sort) {
+            case SALARY:
+                return sortedRows(hasKey(sort), table::salary);
+            case AGE:
+                return sortedRows(hasKey(sort), table::age);
+            case NAME:
+                return sortedRows(hasKey(sort), nameRanks());
+            default:
+                throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+    }
+
+    private IntPredicate hasKey(EmployeeSort sort) {
+        switch (sort) {
+            case SALARY:
+                return table::hasSalary;
+            case AGE:
+                return table::hasAge;
+            case NAME:
+                return row -> table.name(row) != null;
+            default:
+                throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+    }
+
+    /**
+     * The order {@link #build} produces, one pair of rows at a time.
+     */
+    private RowPatch.RowComparator comparator(EmployeeSort sort) {
+        switch (sort) {
+            case SALARY:
+                return missingLast(hasKey(sort), (row, otherRow) -> Integer.compare(table.salary(row), table.salary(otherRow)));
+            case AGE:
+                return missingLast(hasKey(sort), (row, otherRow) -> Integer.compare(table.age(row), table.age(otherRow)));
+            case NAME:
+                return missingLast(hasKey(sort), (row, otherRow) -> NAME_ORDER.compare(table.name(row), table.name(otherRow)));
+            default:
+                throw new IllegalArgumentException("Unsupported sort: " + sort);
+        }
+    }
+
+    private static RowPatch.RowComparator missingLast(IntPredicate hasKey, RowPatch.RowComparator byKey) {
+        return (row, otherRow) -> {
+            final boolean hasRowKey = hasKey.test(row);
+            if (hasRowKey != hasKey.test(otherRow)) {
+                return hasRowKey ? -1 : 1;
+            }
+            final int byValue = hasRowKey ? byKey.compare(row, otherRow) : 0;
+            return byValue != 0 ? byValue : Integer.compare(row, otherRow);
+        };
+    }
+
+    /**
+     * Ranks the distinct names once, so rows can be sorted on an {@code int} key instead of comparing
+     * strings row against row.
+     */
+    private IntUnaryOperator nameRanks() {
+        final Map<String, Integer> ranks = new HashMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            final String name = table.name(row);
+            if (name != null) {
+                ranks.put(name, 0);
+            }
+        }
+        final String[] distinctNames = ranks.keySet().toArray(new String[0]);
+        Arrays.sort(distinctNames, NAME_ORDER);
+        for (int rank = 0; rank < distinctNames.length; rank++) {
+            ranks.put(distinctNames[rank], rank);
+        }
+        return row -> ranks.get(table.name(row));
+    }
+
+    private int[] sortedRows(IntPredicate hasKey, IntUnaryOperator key) {
+        // the key in the high bits and the row in the low bits sort by key, then dataset order
+        final int rowCount = table.size();
+        final long[] keys = new long[rowCount];
+        final int[] rows = new int[rowCount];
+        int keyedCount = 0;
+        int missingCount = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (hasKey.test(row)) {
+                keys[keyedCount++] = ((long) key.applyAsInt(row) << 32) | row;
+            } else {
+                rows[rowCount - 1 - missingCount++] = row;
+            }
+        }
+        Arrays.sort(keys, 0, keyedCount);
+        for (int i = 0; i < keyedCount; i++) {
+            rows[i] = (int) keys[i];
+        }
+        // rows without the field were filled in from the end, so put them back in dataset order
+        for (int i = keyedCount, j = rowCount - 1; i < j; i++, j--) {
+            final int row = rows[i];
+            rows[i] = rows[j];
+            rows[j] = row;
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+
+/**
+ * Salary and age aggregates of one snapshot version, kept as primitive counters and fixed-width
+ * histograms. A reload computes them in one pass over the rows; a patch derives them from the
+ * previous version by adding and subtracting the changed employees, so local writes never rescan the
+ * dataset. Immutable: every change produces a new instance.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class EmployeeStatistics {
+
+    public static final int SALARY_BUCKET_WIDTH = 100_000;
+    public static final int SALARY_BUCKETS = 11;
+    public static final int AGE_BUCKET_WIDTH = 10;
+    public static final int AGE_BUCKETS = 10;
+
+    private final long employeeCount;
+    private final long salaryCount;
+    private final long salarySum;
+    private final long ageCount;
+    private final long ageSum;
+    @Getter(AccessLevel.NONE)
+    private final long[] salaryHistogram;
+    @Getter(AccessLevel.NONE)
+    private final long[] ageHistogram;
+
+    private EmployeeStatistics(long employeeCount, long salaryCount, long salarySum, long ageCount, long ageSum,
+                               long[] salaryHistogram, long[] ageHistogram) {
+        this.employeeCount = employeeCount;
+        this.salaryCount = salaryCount;
+        this.salarySum = salarySum;
+        this.ageCount = ageCount;
+        this.ageSum = ageSum;
+        this.salaryHistogram = salaryHistogram;
+        this.ageHistogram = ageHistogram;
+    }
+
+    static EmployeeStatistics of(EmployeeTable table) {
+        final Accumulator accumulator = new Accumulator(new long[SALARY_BUCKETS], new long[AGE_BUCKETS]);
+        accumulator.employeeCount = table.size();
+        for (int row = 0; row < table.size(); row++) {
+            if (table.hasSalary(row)) {
+                accumulator.addSalary(table.salary(row), 1);
+            }
+            if (table.hasAge(row)) {
+                accumulator.addAge(table.age(row), 1);
+            }
+        }
+        return accumulator.toStatistics();
+    }
+
+    EmployeeStatistics withChanges(Collection<Employee> added, Collection<Employee> removed) {
+        final Accumulator accumulator = new Accumulator(this);
+        added.forEach(employee -> accumulator.add(employee, 1));
+        removed.forEach(employee -> accumulator.add(employee, -1));
+        return accumulator.toStatistics();
+    }
+
+    /**
+     * Employees per salary bucket: bucket {@code i} holds salaries from {@code i * SALARY_BUCKET_WIDTH}
+     * up to the next bucket, the last one everything above. Negative salaries count in the first.
+     */
+    public long[] getSalaryHistogram() {
+        return salaryHistogram.clone();
+    }
+
+    /**
+     * Employees per age bucket, laid out like {@link #getSalaryHistogram()} with {@code AGE_BUCKET_WIDTH}.
+     */
+    public long[] getAgeHistogram() {
+        return ageHistogram.clone();
+    }
+
+    private static int bucket(int value, int width, int buckets) {
+        return Math.min(Math.max(value, 0) / width, buckets - 1);
+    }
+
+    private static class Accumulator {
+
+        private long employeeCount;
+        private long salaryCount;
+        private long salarySum;
+        private long ageCount;
+        private long ageSum;
+        private final long[] salaryHistogram;
+        private final long[] ageHistogram;
+
+        Accumulator(long[] salaryHistogram, long[] ageHistogram) {
+            this.salaryHistogram = salaryHistogram;
+            this.ageHistogram = ageHistogram;
+        }
+
+        Accumulator(EmployeeStatistics source) {
+            this(source.salaryHistogram.clone(), source.ageHistogram.clone());
+            employeeCount = source.employeeCount;
+            salaryCount = source.salaryCount;
+            salarySum = source.salarySum;
+            ageCount = source.ageCount;
+            ageSum = source.ageSum;
+        }
+
+        void add(Employee employee, int sign) {
+            employeeCount += sign;
+            if (employee.getEmployeeSalary() != null) {
+                addSalary(employee.getEmployeeSalary(), sign);
+            }
+            if (employee.getEmployeeAge() != null) {
+                addAge(employee.getEmployeeAge(), sign);
+            }
+        }
+
+        void addSalary(int salary, int sign) {
+            salaryCount += sign;
+            salarySum += (long) sign * salary;
+            salaryHistogram[bucket(salary, SALARY_BUCKET_WIDTH, SALARY_BUCKETS)] += sign;
+        }
+
+        void addAge(int age, int sign) {
+            ageCount += sign;
+            ageSum += (long) sign * age;
+            ageHistogram[bucket(age, AGE_BUCKET_WIDTH, AGE_BUCKETS)] += sign;
+        }
+
+        EmployeeStatistics toStatistics() {
+            return new EmployeeStatistics(employeeCount, salaryCount, salarySum, ageCount, ageSum, salaryHistogram, ageHistogram);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+
+import java.util.List;
+
+/**
+ * How an {@link EmployeeSnapshot} holds its rows, chosen with {@code employees.snapshot.storage}.
+ */
+public enum EmployeeStorage {
+
+    /**
+     * One {@link Employee} object per row, as decoded.
+     */
+    OBJECTS {
+        @Override
+        EmployeeTable tableOf(List<Employee> employees) {
+            return new ObjectEmployeeTable(employees);
+        }
+    },
+
+    /**
+     * Primitive columns and string dictionaries on the heap, see {@link ColumnarEmployeeTable}.
+     */
+    COLUMNAR {
+        @Override
+        EmployeeTable tableOf(List<Employee> employees) {
+            return new ColumnarEmployeeTable(employees, false);
+        }
+    },
+
+    /**
+     * Like {@link #COLUMNAR}, with the primitive columns in direct buffers. Sized by
+     * {@code -XX:MaxDirectMemorySize} rather than the heap.
+     */
+    COLUMNAR_OFF_HEAP {
+        @Override
+        EmployeeTable tableOf(List<Employee> employees) {
+            return new ColumnarEmployeeTable(employees, true);
+        }
+    };
+
+    abstract EmployeeTable tableOf(List<Employee> employees);
+}
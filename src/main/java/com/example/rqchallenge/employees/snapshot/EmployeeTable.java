@@ -0,0 +1,50 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+
+import java.util.List;
+
+/**
+ * Row storage behind an {@link EmployeeSnapshot}. Rows are numbered in dataset order; the snapshot
+ * builds its indexes from the per-row accessors and only asks for whole {@link Employee} objects for
+ * the rows it returns.
+ */
+interface EmployeeTable {
+
+    int size();
+
+    /**
+     * The employee at {@code row}. Storage engines that do not keep objects build a new one per call.
+     */
+    Employee get(int row);
+
+    boolean hasId(int row);
+
+    int id(int row);
+
+    boolean hasSalary(int row);
+
+    int salary(int row);
+
+    boolean hasAge(int row);
+
+    int age(int row);
+
+    String name(int row);
+
+    /**
+     * All rows as an immutable, random-access list.
+     */
+    List<Employee> asList();
+
+    /**
+     * Whether the table holds exactly the given employees, in the same order.
+     */
+    boolean contentEquals(List<Employee> employees);
+
+    /**
+     * The table of the next version: the rows {@code patch} keeps, renumbered, followed by {@code added}.
+     * Kept rows are copied as stored, without building an {@link Employee} for them.
+     */
+    EmployeeTable patched(RowPatch patch, List<Employee> added);
+}
@@ -0,0 +1,85 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the decoded {@link Employee} objects as they are.
+ */
+class ObjectEmployeeTable implements EmployeeTable {
+
+    private final List<Employee> employees;
+
+    ObjectEmployeeTable(List<Employee> employees) {
+        this.employees = List.copyOf(employees);
+    }
+
+    @Override
+    public int size() {
+        return employees.size();
+    }
+
+    @Override
+    public Employee get(int row) {
+        return employees.get(row);
+    }
+
+    @Override
+    public boolean hasId(int row) {
+        return employees.get(row).getId() != null;
+    }
+
+    @Override
+    public int id(int row) {
+        return employees.get(row).getId();
+    }
+
+    @Override
+    public boolean hasSalary(int row) {
+        return employees.get(row).getEmployeeSalary() != null;
+    }
+
+    @Override
+    public int salary(int row) {
+        return employees.get(row).getEmployeeSalary();
+    }
+
+    @Override
+    public boolean hasAge(int row) {
+        return employees.get(row).getEmployeeAge() != null;
+    }
+
+    @Override
+    public int age(int row) {
+        return employees.get(row).getEmployeeAge();
+    }
+
+    @Override
+    public String name(int row) {
+        return employees.get(row).getEmployeeName();
+    }
+
+    @Override
+    public List<Employee> asList() {
+        return employees;
+    }
+
+    @Override
+    public boolean contentEquals(List<Employee> employees) {
+        return this.employees.equals(employees);
+    }
+
+    @Override
+    public EmployeeTable patched(RowPatch patch, List<Employee> added) {
+        final List<Employee> rows = new ArrayList<>(patch.rowCount());
+        for (int row = 0; row < employees.size(); row++) {
+            if (patch.newRow(row) != RowPatch.REMOVED) {
+                rows.add(employees.get(row));
+            }
+        }
+        rows.addAll(added);
+        return new ObjectEmployeeTable(rows);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * How the rows of one snapshot version map onto the next when some rows are removed and new ones
+ * appended. Kept rows close up over the removed ones without changing their relative order, and the
+ * added rows follow them. Row numbers therefore keep their order under the mapping, which lets every
+ * index of the previous version be carried over by renumbering instead of being built again.
+ */
+class RowPatch {
+
+    static final int REMOVED = -1;
+
+    private final int[] newRows;
+    private final int keptCount;
+    private final int rowCount;
+
+    /**
+     * @param previousRowCount rows of the previous version
+     * @param removedRows      rows of the previous version that are dropped, ascending and distinct
+     * @param addedCount       rows appended after the kept ones
+     */
+    RowPatch(int previousRowCount, int[] removedRows, int addedCount) {
+        newRows = new int[previousRowCount];
+        int removedSoFar = 0;
+        for (int row = 0; row < previousRowCount; row++) {
+            if (removedSoFar < removedRows.length && removedRows[removedSoFar] == row) {
+                newRows[row] = REMOVED;
+                removedSoFar++;
+            } else {
+                newRows[row] = row - removedSoFar;
+            }
+        }
+        keptCount = previousRowCount - removedRows.length;
+        rowCount = keptCount + addedCount;
+    }
+
+    /**
+     * The row number of a previous row in the next version, or {@link #REMOVED}.
+     */
+    int newRow(int previousRow) {
+        return newRows[previousRow];
+    }
+
+    int previousRowCount() {
+        return newRows.length;
+    }
+
+    /**
+     * Number of previous rows kept, which is also the first added row.
+     */
+    int keptCount() {
+        return keptCount;
+    }
+
+    int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Renumbers the previous rows listed in {@code rows}, dropping the removed ones and keeping the order.
+     */
+    int[] renumber(int[] rows) {
+        final int[] renumbered = new int[rows.length];
+        int size = 0;
+        for (int row : rows) {
+            final int newRow = newRows[row];
+            if (newRow != REMOVED) {
+                renumbered[size++] = newRow;
+            }
+        }
+        return size == renumbered.length ? renumbered : Arrays.copyOf(renumbered, size);
+    }
+
+    /**
+     * Merges the added rows accepted by {@code include} into {@code keptOrder}, a renumbered order of
+     * the kept rows sorted by {@code comparator}. Only the added rows are sorted; each one then finds
+     * its place in the kept order by binary search, so the cost is a copy of the order plus
+     * {@code O(added * log(rows))} comparisons. The comparator must break ties by row number.
+     */
+    int[] mergeAdded(int[] keptOrder, IntPredicate include, RowComparator comparator) {
+        final int[] added = IntStream.range(keptCount, rowCount).filter(include).boxed()
+                .sorted(comparator::compare).mapToInt(Integer::intValue).toArray();
+        if (added.length == 0) {
+            return keptOrder;
+        }
+        final int[] merged = new int[keptOrder.length + added.length];
+        int from = 0;
+        int size = 0;
+        for (int row : added) {
+            final int at = firstAfter(keptOrder, from, row, comparator);
+            System.arraycopy(keptOrder, from, merged, size, at - from);
+            size += at - from;
+            from = at;
+            merged[size++] = row;
+        }
+        System.arraycopy(keptOrder, from, merged, size, keptOrder.length - from);
+        return merged;
+    }
+
+    /**
+     * First position in {@code order[from, length)} whose row sorts after {@code row}.
+     */
+    private static int firstAfter(int[] order, int from, int row, RowComparator comparator) {
+        int low = from;
+        int high = order.length;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (comparator.compare(order[mid], row) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Orders two rows of the next version.
+     */
+    interface RowComparator {
+
+        int compare(int row, int otherRow);
+    }
+}
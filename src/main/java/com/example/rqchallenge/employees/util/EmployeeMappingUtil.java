@@ -0,0 +1,30 @@
+package com.example.rqchallenge.employees.util;
+
+import com.example.rqchallenge.employees.constants.ApplicationConstants;
+import com.example.rqchallenge.employees.dto.CreateEmployeeRequest;
+import com.example.rqchallenge.employees.dto.CreateEmployeeResponse;
+import com.example.rqchallenge.employees.dto.Employee;
+
+import java.util.Map;
+import java.util.Optional;
+
+public class EmployeeMappingUtil {
+
+    public static CreateEmployeeRequest toCreateEmployeeRequest(final Map<String, Object> employeeInput) {
+        return CreateEmployeeRequest.builder()
+                .name(employeeInput.get(ApplicationConstants.FIELD_EMPLOYEE_NAME).toString())
+                .age(employeeInput.get(ApplicationConstants.FIELD_EMPLOYEE_AGE).toString())
+                .salary(employeeInput.get(ApplicationConstants.FIELD_EMPLOYEE_SALARY).toString())
+                .profileImage(Optional.ofNullable(employeeInput.get(ApplicationConstants.FIELD_EMPLOYEE_PROFILE_IMAGE)).orElse("").toString())
+                .build();
+    }
+
+    public static Employee toEmployee(final CreateEmployeeResponse createEmployeeResponse) {
+        return Employee.builder().id(createEmployeeResponse.getId())
+                .employeeName(createEmployeeResponse.getName())
+                .employeeAge(createEmployeeResponse.getAge())
+                .employeeSalary(createEmployeeResponse.getSalary())
+                .profileImage(Optional.ofNullable(createEmployeeResponse.getProfileImage()).orElse(""))
+                .build();
+    }
+}
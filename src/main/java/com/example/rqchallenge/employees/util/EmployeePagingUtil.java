@@ -0,0 +1,150 @@
+package com.example.rqchallenge.employees.util;
+
+import com.example.rqchallenge.employees.constants.ApplicationConstants;
+import com.example.rqchallenge.employees.dto.EmployeePage;
+import com.example.rqchallenge.employees.dto.EmployeePageRequest;
+import com.example.rqchallenge.employees.exception.BadRequestException;
+import com.example.rqchallenge.employees.snapshot.EmployeeSlice;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.snapshot.EmployeeSort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Pages through the snapshot with opaque cursors.
+ * <p>
+ * A cursor records the snapshot version, the sort, the direction, the position of the next employee
+ * and the lower-cased search string it belongs to. It resumes straight at that position, so a deep page costs no more
+ * than the first. Cursors are only valid for the version that issued them: once local writes or a
+ * reload change the dataset, positions shift and the cursor is rejected instead of silently skipping
+ * or repeating employees.
+ */
+public class EmployeePagingUtil {
+
+    private static final String CURSOR_FORMAT = "c1";
+    private static final String NO_SORT = "none";
+    private static final String ASCENDING = "asc";
+    private static final String DESCENDING = "desc";
+
+    public static EmployeePage page(final EmployeeSnapshot snapshot, final EmployeePageRequest pageRequest) {
+        return page(snapshot, null, pageRequest);
+    }
+
+    /**
+     * Reads one page of the whole dataset, or of the employees matching {@code searchString} when it is
+     * not {@code null}.
+     */
+    public static EmployeePage page(final EmployeeSnapshot snapshot, final String searchString, final EmployeePageRequest pageRequest) {
+        final int limit = parseLimit(pageRequest.getLimit());
+        final String scope = searchString == null ? "" : searchString.toLowerCase(Locale.ROOT);
+        EmployeeSort sort = parseSort(pageRequest.getSort());
+        Boolean descending = parseOrder(pageRequest.getOrder());
+        int from = 0;
+        if (pageRequest.getCursor() != null) {
+            final Cursor cursor = Cursor.decode(pageRequest.getCursor());
+            if (!cursor.scope.equals(scope) || (sort != null && sort != cursor.sort) || (descending != null && descending != cursor.descending)) {
+                throw new BadRequestException("Cursor does not belong to this search, sort or order.");
+            }
+            if (cursor.version != snapshot.getVersion()) {
+                throw new BadRequestException("Cursor is from another version of the dataset, start again from the first page.");
+            }
+            sort = cursor.sort;
+            descending = cursor.descending;
+            from = cursor.position;
+        }
+        final boolean isDescending = Boolean.TRUE.equals(descending);
+        final EmployeeSlice slice = searchString == null
+                ? snapshot.slice(sort, isDescending, from, limit)
+                : snapshot.searchSlice(searchString, sort, isDescending, from, limit);
+        final int next = from + slice.getEmployees().size();
+        final String nextCursor = next < slice.getTotal()
+                ? new Cursor(snapshot.getVersion(), sort, isDescending, next, scope).encode()
+                : null;
+        return new EmployeePage(slice.getEmployees(), slice.getTotal(), nextCursor);
+    }
+
+    private static int parseLimit(final Integer limit) {
+        if (limit == null) {
+            return ApplicationConstants.PAGE_DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > ApplicationConstants.PAGE_MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + ApplicationConstants.PAGE_MAX_LIMIT + ".");
+        }
+        return limit;
+    }
+
+    private static EmployeeSort parseSort(final String sort) {
+        if (sort == null) {
+            return null;
+        }
+        try {
+            return EmployeeSort.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("sort must be one of salary, name or age.");
+        }
+    }
+
+    private static Boolean parseOrder(final String order) {
+        if (order == null) {
+            return null;
+        }
+        switch (order.trim().toLowerCase(Locale.ROOT)) {
+            case ASCENDING:
+                return false;
+            case DESCENDING:
+                return true;
+            default:
+                throw new BadRequestException("order must be asc or desc.");
+        }
+    }
+
+    private static class Cursor {
+
+        private final long version;
+        private final EmployeeSort sort;
+        private final boolean descending;
+        private final int position;
+        private final String scope;
+
+        Cursor(long version, EmployeeSort sort, boolean descending, int position, String scope) {
+            this.version = version;
+            this.sort = sort;
+            this.descending = descending;
+            this.position = position;
+            this.scope = scope;
+        }
+
+        String encode() {
+            final String value = String.join(":", CURSOR_FORMAT, Long.toString(version), sort == null ? NO_SORT : sort.name(),
+                    descending ? DESCENDING : ASCENDING, Integer.toString(position), toBase64(scope));
+            return toBase64(value);
+        }
+
+        static Cursor decode(final String cursor) {
+            try {
+                final String[] parts = fromBase64(cursor.trim()).split(":", -1);
+                if (parts.length != 6 || !CURSOR_FORMAT.equals(parts[0]) || !(ASCENDING.equals(parts[3]) || DESCENDING.equals(parts[3]))) {
+                    throw new IllegalArgumentException(cursor);
+                }
+                final int position = Integer.parseInt(parts[4]);
+                if (position < 0) {
+                    throw new IllegalArgumentException(cursor);
+                }
+                return new Cursor(Long.parseLong(parts[1]), NO_SORT.equals(parts[2]) ? null : EmployeeSort.valueOf(parts[2]),
+                        DESCENDING.equals(parts[3]), position, fromBase64(parts[5]));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid cursor.");
+            }
+        }
+
+        private static String toBase64(final String value) {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String fromBase64(final String value) {
+            return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.rqchallenge.employees.util;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.exception.NoDataException;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+
+public class EmployeeRankingUtil {
+
+    public static Integer highestSalary(final EmployeeSnapshot snapshot) {
+        return snapshot.highestSalary().orElseThrow(NoDataException::new);
+    }
+
+    public static List<String> topEarnerNames(final EmployeeSnapshot snapshot, final int limit) {
+        List<Employee> topEarners = snapshot.topEarners(limit);
+        if (topEarners.isEmpty()) {
+            throw new NoDataException();
+        }
+        return topEarners.stream().map(Employee::getEmployeeName).collect(Collectors.toList());
+    }
+
+    /**
+     * Row numbers of the employees ordered by salary, highest first. Equal salaries keep their dataset
+     * order and employees without a salary are left out, as they cannot be ranked.
+     */
+    public static int[] salaryOrder(final List<Employee> employees) {
+        return salaryOrder(employees.size(), row -> employees.get(row).getEmployeeSalary() != null,
+                row -> employees.get(row).getEmployeeSalary());
+    }
+
+    /**
+     * Same ordering over {@code rowCount} rows read through {@code hasSalary} and {@code salary}, for
+     * storage that keeps salaries in a primitive column.
+     */
+    public static int[] salaryOrder(final int rowCount, final IntPredicate hasSalary, final IntUnaryOperator salary) {
+        // ~salary turns the descending salary order into an ascending one without overflow, and the
+        // row in the low bits breaks ties, so a plain primitive sort is both stable and box-free
+        long[] keys = new long[rowCount];
+        int rankedCount = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (hasSalary.test(row)) {
+                keys[rankedCount++] = ((long) ~salary.applyAsInt(row) << 32) | row;
+            }
+        }
+        Arrays.sort(keys, 0, rankedCount);
+        int[] rows = new int[rankedCount];
+        for (int i = 0; i < rankedCount; i++) {
+            rows[i] = (int) keys[i];
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.rqchallenge.employees.util;
+
+import com.example.rqchallenge.employees.dto.EmployeeStatisticsResponse;
+import com.example.rqchallenge.employees.dto.HistogramBucket;
+import com.example.rqchallenge.employees.dto.ValueStatistics;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshot;
+import com.example.rqchallenge.employees.snapshot.EmployeeStatistics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class EmployeeStatisticsUtil {
+
+    private static final int[] PERCENTILES = {25, 75, 90, 95, 99};
+
+    /**
+     * Reads the statistics of a snapshot. Counts, averages and histograms come from its accumulators;
+     * min, max, median and percentiles are exact, read off its salary ranking.
+     */
+    public static EmployeeStatisticsResponse summarize(final EmployeeSnapshot snapshot) {
+        final EmployeeStatistics statistics = snapshot.getStatistics();
+        return EmployeeStatisticsResponse.builder()
+                .version(snapshot.getVersion())
+                .employeeCount(statistics.getEmployeeCount())
+                .salary(salaryStatistics(snapshot, statistics))
+                .age(ValueStatistics.builder()
+                        .count(statistics.getAgeCount())
+                        .average(average(statistics.getAgeSum(), statistics.getAgeCount()))
+                        .histogram(histogram(statistics.getAgeHistogram(), EmployeeStatistics.AGE_BUCKET_WIDTH))
+                        .build())
+                .build();
+    }
+
+    private static ValueStatistics salaryStatistics(final EmployeeSnapshot snapshot, final EmployeeStatistics statistics) {
+        final ValueStatistics.ValueStatisticsBuilder salary = ValueStatistics.builder()
+                .count(statistics.getSalaryCount())
+                .average(average(statistics.getSalarySum(), statistics.getSalaryCount()))
+                .histogram(histogram(statistics.getSalaryHistogram(), EmployeeStatistics.SALARY_BUCKET_WIDTH));
+        final int ranked = snapshot.getRankedCount();
+        if (ranked == 0) {
+            return salary.build();
+        }
+        final Map<String, Integer> percentiles = new LinkedHashMap<>();
+        for (int percentile : PERCENTILES) {
+            // nearest rank: the smallest salary with at least the given share of salaries at or below it
+            final int rank = Math.max((int) Math.ceil(percentile / 100.0 * ranked) - 1, 0);
+            percentiles.put("p" + percentile, snapshot.salaryAtRank(rank));
+        }
+        final double median = ranked % 2 == 1
+                ? snapshot.salaryAtRank(ranked / 2)
+                : (snapshot.salaryAtRank(ranked / 2 - 1) + (double) snapshot.salaryAtRank(ranked / 2)) / 2;
+        return salary
+                .min(snapshot.salaryAtRank(0))
+                .max(snapshot.salaryAtRank(ranked - 1))
+                .median(median)
+                .percentiles(percentiles)
+                .build();
+    }
+
+    private static Double average(final long sum, final long count) {
+        return count == 0 ? null : (double) sum / count;
+    }
+
+    private static List<HistogramBucket> histogram(final long[] counts, final int width) {
+        final List<HistogramBucket> buckets = new ArrayList<>(counts.length);
+        for (int i = 0; i < counts.length; i++) {
+            buckets.add(new HistogramBucket(i * width, i == counts.length - 1 ? null : (i + 1) * width, counts[i]));
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.rqchallenge.employees.util;
+
+import com.example.rqchallenge.employees.constants.ErrorCodeConstants;
+import com.example.rqchallenge.employees.exception.BadRequestException;
+import com.example.rqchallenge.employees.exception.DeadlineExceededException;
+import com.example.rqchallenge.employees.exception.EmployeeApiInternalServerException;
+import com.example.rqchallenge.employees.exception.NoDataException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maps failures to the reason codes and descriptions the controller advice uses, for endpoints that
+ * report errors per item instead of failing the whole request.
+ */
+@Slf4j
+public class ErrorReasonUtil {
+
+    public static String reasonCode(Throwable error) {
+        if (error instanceof NoDataException) {
+            return ErrorCodeConstants.EMPLOYEE_NO_DATA;
+        } else if (error instanceof BadRequestException) {
+            return ErrorCodeConstants.EXTERNAL_API_INVALID_FIELD;
+        } else if (error instanceof CallNotPermittedException) {
+            return ErrorCodeConstants.EXTERNAL_API_UNAVAILABLE;
+        } else if (error instanceof DeadlineExceededException) {
+            return ErrorCodeConstants.EXTERNAL_API_DEADLINE_EXCEEDED;
+        }
+        return ErrorCodeConstants.EXTERNAL_API_SERVER_ERROR;
+    }
+
+    public static String description(Throwable error) {
+        if (error instanceof NoDataException || error instanceof BadRequestException || error instanceof DeadlineExceededException) {
+            return error.getMessage();
+        } else if (error instanceof CallNotPermittedException) {
+            return "Employees API is temporarily unavailable. Please try again later.";
+        } else if (error instanceof EmployeeApiInternalServerException) {
+            // an upstream 5xx the item already reports, so one failing upstream does not flood the log with traces
+            log.warn("Item failed upstream: {}", error.getMessage());
+            return error.getMessage();
+        }
+        log.error("Unexpected item failure", error);
+        return new EmployeeApiInternalServerException().getMessage();
+    }
+}
@@ -3,9 +3,11 @@ package com.example.rqchallenge.employees.util;
 import com.example.rqchallenge.employees.constants.ApplicationConstants;
 import com.example.rqchallenge.employees.exception.BadRequestException;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class InputValidationUtil {
@@ -32,6 +34,40 @@ public class InputValidationUtil {
         }
     }
 
+    public static void validateTopEarnersCount(final int k) {
+        if (k < 1) {
+            throw new BadRequestException("k must be at least 1.");
+        }
+    }
+
+    public static void validateBatchLookupIds(final List<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("Ids cannot be empty.");
+        }
+        if (ids.size() > ApplicationConstants.BATCH_LOOKUP_MAX_IDS) {
+            throw new BadRequestException("At most " + ApplicationConstants.BATCH_LOOKUP_MAX_IDS + " ids can be looked up at once.");
+        }
+    }
+
+    /**
+     * Validates every item of a bulk write before any of them is sent, naming the first offending item.
+     */
+    public static <T> void validateBulkItems(final List<T> items, final Consumer<T> itemValidator) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Bulk request cannot be empty.");
+        }
+        if (items.size() > ApplicationConstants.BULK_WRITE_MAX_ITEMS) {
+            throw new BadRequestException("At most " + ApplicationConstants.BULK_WRITE_MAX_ITEMS + " items can be written at once.");
+        }
+        for (int index = 0; index < items.size(); index++) {
+            try {
+                itemValidator.accept(items.get(index));
+            } catch (BadRequestException e) {
+                throw new BadRequestException("Item " + index + ": " + e.getMessage());
+            }
+        }
+    }
+
     public static void validateEmployeeInputFields(Map<String, Object> employeeInput) {
         Optional<String> invalidFieldOptional = employeeInput.keySet().stream().filter(key -> !allowedFields.contains(key.toLowerCase())).findFirst();
         if (invalidFieldOptional.isPresent()) {
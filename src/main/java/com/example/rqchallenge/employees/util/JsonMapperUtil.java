@@ -0,0 +1,17 @@
+package com.example.rqchallenge.employees.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * The one {@link ObjectMapper} used to read and write upstream payloads. Building a mapper is
+ * expensive and a configured one is thread-safe, so it is created once and shared.
+ */
+public class JsonMapperUtil {
+
+    private static final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    public static ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+}
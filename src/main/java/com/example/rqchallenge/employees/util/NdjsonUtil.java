@@ -0,0 +1,33 @@
+package com.example.rqchallenge.employees.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+public class NdjsonUtil {
+
+    private static final int FLUSH_EVERY = 64;
+
+    private static final ObjectWriter objectWriter = JsonMapperUtil.objectMapper()
+            .writer()
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    /**
+     * Writes each value as one JSON line, flushing every few lines so the client starts receiving data
+     * straight away and only a handful of serialized records are ever buffered.
+     */
+    public static void writeLines(final List<?> values, final OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = objectWriter.createGenerator(outputStream)) {
+            for (int i = 0; i < values.size(); i++) {
+                objectWriter.writeValue(generator, values.get(i));
+                generator.writeRaw('\n');
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.rqchallenge.employees.util;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls per key: while a call for a key is in flight, every further subscriber
+ * for that key joins it and receives the same value or error instead of starting a call of its own.
+ * The key is released as soon as the call terminates, so results are never cached beyond that.
+ * A subscriber cancelling does not cancel the shared call for the others.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(final K key, final Supplier<Mono<V>> call) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> share(k, call)));
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Mono<V> share(final K key, final Supplier<Mono<V>> call) {
+        final AtomicReference<Mono<V>> shared = new AtomicReference<>();
+        // released before the result is passed on, so a caller reacting to it can never join this call
+        shared.set(Mono.defer(call)
+                .doOnTerminate(() -> inFlight.remove(key, shared.get()))
+                .cache());
+        return shared.get();
+    }
+}
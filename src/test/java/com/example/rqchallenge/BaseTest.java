@@ -4,6 +4,7 @@ import com.example.rqchallenge.employees.constants.ApplicationConstants;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.core.io.Resource;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.util.FileCopyUtils;
 
 import java.io.IOException;
@@ -15,6 +16,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @SpringBootTest
+@ActiveProfiles("test")
 public class BaseTest {
 
     @Value("classpath:data/getAllEmployeesResponse.json")
@@ -2,15 +2,28 @@ package com.example.rqchallenge.employees;
 
 import com.example.rqchallenge.BaseTest;
 import com.example.rqchallenge.employees.constants.ApplicationConstants;
+import com.example.rqchallenge.employees.constants.ErrorCodeConstants;
+import com.example.rqchallenge.employees.dto.BatchLookupError;
+import com.example.rqchallenge.employees.dto.BatchLookupRequest;
+import com.example.rqchallenge.employees.dto.BatchLookupResponse;
+import com.example.rqchallenge.employees.dto.BulkDeleteRequest;
+import com.example.rqchallenge.employees.dto.BulkWriteResponse;
+import com.example.rqchallenge.employees.dto.BulkWriteResult;
 import com.example.rqchallenge.employees.dto.CreateEmployeeResponse;
 import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.EmployeePage;
+import com.example.rqchallenge.employees.dto.EmployeePageRequest;
 import com.example.rqchallenge.employees.dto.GenericEmployeeResponse;
 import com.example.rqchallenge.employees.dto.ApiError;
+import com.example.rqchallenge.employees.exception.DeadlineExceededException;
 import com.example.rqchallenge.employees.exception.NoDataException;
 import com.example.rqchallenge.employees.exception.handler.ApiControllerAdvice;
 import com.example.rqchallenge.employees.service.IEmployeeService;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.restassured.http.ContentType;
 import io.restassured.module.mockmvc.response.MockMvcResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +34,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 
 import java.util.Arrays;
 import java.util.List;
@@ -29,6 +43,8 @@ import java.util.Optional;
 
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -65,6 +81,67 @@ class EmployeeControllerTest extends BaseTest {
                 .extract().response().prettyPeek();
     }
 
+    @Test
+    void test_getAllEmployees_with_ndjson_accept_header_should_stream_one_employee_per_line() throws Exception {
+        GenericEmployeeResponse<List<Employee>> genericEmployeeResponse = objectMapper.readValue(resourcesAsString(getAllEmployeesResponseResource), GenericEmployeeResponse.class);
+        List<Employee> mockServiceResponse = objectMapper.convertValue(genericEmployeeResponse.getData(), new TypeReference<List<Employee>>() {});
+        when(iEmployeeService.getAllEmployees()).thenReturn(mockServiceResponse);
+        MockMvcResponse mockMvcResponse = given()
+                .standaloneSetup(new EmployeeControllerImpl(iEmployeeService), new ApiControllerAdvice())
+                .accept(MediaType.APPLICATION_NDJSON_VALUE)
+                .when()
+                .async()
+                .get("/api/v1")
+                .then().statusCode(HttpStatus.OK.value())
+                .contentType(MediaType.APPLICATION_NDJSON_VALUE)
+                .log().ifValidationFails()
+                .extract().response();
+        String[] lines = mockMvcResponse.getBody().asString().split("\n");
+        assertEquals(24, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(mockServiceResponse.get(i), objectMapper.readValue(lines[i], Employee.class));
+        }
+    }
+
+    @Test
+    void test_getAllEmployees_without_ndjson_accept_header_should_return_json_array() throws JsonProcessingException {
+        GenericEmployeeResponse<List<Employee>> genericEmployeeResponse = objectMapper.readValue(resourcesAsString(getAllEmployeesResponseResource), GenericEmployeeResponse.class);
+        List<Employee> mockServiceResponse = genericEmployeeResponse.getData();
+        when(iEmployeeService.getAllEmployees()).thenReturn(mockServiceResponse);
+        MockMvcResponse mockMvcResponse = given()
+                .standaloneSetup(new EmployeeControllerImpl(iEmployeeService), new ApiControllerAdvice())
+                .accept(ContentType.ANY)
+                .when()
+                .get("/api/v1")
+                .then().statusCode(HttpStatus.OK.value())
+                .contentType(ContentType.JSON)
+                .log().ifValidationFails()
+                .extract().response();
+        assertEquals(24, mockMvcResponse.getBody().jsonPath().getList(".").size());
+    }
+
+    @Test
+    void test_getAllEmployees_with_paging_parameters_should_return_page_with_cursor_headers() throws JsonProcessingException {
+        GenericEmployeeResponse<List<Employee>> genericEmployeeResponse = objectMapper.readValue(resourcesAsString(getAllEmployeesResponseResource), GenericEmployeeResponse.class);
+        List<Employee> employees = objectMapper.convertValue(genericEmployeeResponse.getData(), new TypeReference<List<Employee>>() {});
+        EmployeePageRequest expectedPageRequest = new EmployeePageRequest(2, null, "salary", "desc");
+        when(iEmployeeService.getEmployeesPage(expectedPageRequest)).thenReturn(new EmployeePage(employees.subList(0, 2), 24, "next-page"));
+        MockMvcResponse mockMvcResponse = given()
+                .standaloneSetup(new EmployeeControllerImpl(iEmployeeService), new ApiControllerAdvice())
+                .queryParam("limit", 2)
+                .queryParam("sort", "salary")
+                .queryParam("order", "desc")
+                .when()
+                .get("/api/v1")
+                .then().statusCode(HttpStatus.OK.value())
+                .header(ApplicationConstants.HEADER_TOTAL_COUNT, "24")
+                .header(ApplicationConstants.HEADER_NEXT_CURSOR, "next-page")
+                .log().ifValidationFails()
+                .extract().response();
+        assertEquals(employees.subList(0, 2), Arrays.asList(mockMvcResponse.getBody().as(Employee[].class)));
+        verify(iEmployeeService, never()).getAllEmployees();
+    }
+
     @Test
     void test_getAllEmployees_api_request_with_no_data_response_should_throw_exception() throws JsonProcessingException {
         when(iEmployeeService.getAllEmployees()).thenThrow(NoDataException.class);
@@ -78,6 +155,38 @@ class EmployeeControllerTest extends BaseTest {
                 .extract().response().prettyPeek();
     }
 
+    @Test
+    void test_getEmployeeById_api_request_with_open_circuit_breaker_should_return_service_unavailable() {
+        CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("employeeApiGetById");
+        circuitBreaker.transitionToOpenState();
+        when(iEmployeeService.getEmployeeById("1")).thenThrow(CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
+        ApiError apiError = given()
+                .standaloneSetup(new EmployeeControllerImpl(iEmployeeService), new ApiControllerAdvice())
+                .contentType(ContentType.JSON)
+                .when()
+                .get("/api/v1/1")
+                .then().statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .log().ifValidationFails()
+                .extract().as(ApiError.class);
+
+        assertEquals(ErrorCodeConstants.EXTERNAL_API_UNAVAILABLE, apiError.getReasonCode());
+    }
+
+    @Test
+    void test_getEmployeeById_api_request_past_deadline_should_return_gateway_timeout() {
+        when(iEmployeeService.getEmployeeById("1")).thenThrow(DeadlineExceededException.class);
+        ApiError apiError = given()
+                .standaloneSetup(new EmployeeControllerImpl(iEmployeeService), new ApiControllerAdvice())
+                .contentType(ContentType.JSON)
+                .when()
+                .get("/api/v1/1")
+                .then().statusCode(HttpStatus.GATEWAY_TIMEOUT.value())
+                .log().ifValidationFails()
+                .extract().as(ApiError.class);
+
+        assertEquals(ErrorCodeConstants.EXTERNAL_API_DEADLINE_EXCEEDED, apiError.getReasonCode());
+    }
+
     @Test
     void test_getEmployeesByNameSearch_api_request_with_valid_string_should_return_results() throws JsonProcessingException {
         String searchString = "an";
@@ -135,6 +244,26 @@ class EmployeeControllerTest extends BaseTest {
         assertNotNull(employeeActual);
     }
 
+    @Test
+    void test_getEmployeesByIds_should_succeed() throws JsonProcessingException {
+        Employee employee = objectMapper.readValue(resourcesAsString(getAllEmployeeByIdResponse), new TypeReference<GenericEmployeeResponse<Employee>>() {
+        }).getData();
+        BatchLookupResponse mockServiceResponse = new BatchLookupResponse(List.of(employee),
+                List.of(new BatchLookupError("1000", ErrorCodeConstants.EMPLOYEE_NOT_FOUND_CODE, "Could not find employee with id: 1000")));
+        when(iEmployeeService.getEmployeesByIds(List.of("12", "1000"))).thenReturn(mockServiceResponse);
+        BatchLookupResponse batchLookupResponse = given()
+                .standaloneSetup(new EmployeeControllerImpl(iEmployeeService), new ApiControllerAdvice())
+                .contentType(ContentType.JSON)
+                .body(new BatchLookupRequest(List.of("12", "1000")))
+                .when()
+                .post("/api/v1/batch")
+                .then().statusCode(HttpStatus.OK.value())
+                .log().ifValidationFails()
+                .extract().as(BatchLookupResponse.class);
+
+        assertEquals(mockServiceResponse, batchLookupResponse);
+    }
+
     @Test
     void test_getHighestSalaryOfEmployees_should_succeed() {
         when(iEmployeeService.getHighestSalaryOfEmployees()).thenReturn(HIGHEST_SALARY);
@@ -167,6 +296,23 @@ class EmployeeControllerTest extends BaseTest {
         assertEquals(10, actualResult.size());
     }
 
+    @Test
+    void test_getTopHighestEarningEmployeeNames_should_succeed() throws JsonProcessingException {
+        List<String> topEarnerNames = Arrays.asList(objectMapper.readValue(resourcesAsString(getTopTenEmployeeEarnerNames), String[].class));
+        when(iEmployeeService.getTopHighestEarningEmployeeNames(3)).thenReturn(topEarnerNames.subList(0, 3));
+        MockMvcResponse mockMvcResponse = given()
+                .standaloneSetup(new EmployeeControllerImpl(iEmployeeService), new ApiControllerAdvice())
+                .contentType(ContentType.JSON)
+                .queryParam("k", 3)
+                .when()
+                .get("/api/v1/topHighestEarning")
+                .then().statusCode(HttpStatus.OK.value())
+                .log().ifValidationFails()
+                .extract().response().prettyPeek();
+        List<String> actualResult = mockMvcResponse.getBody().jsonPath().getList(".", String.class);
+        assertEquals(topEarnerNames.subList(0, 3), actualResult);
+    }
+
     @Test
     void test_createEmployee_should_succeed() throws JsonProcessingException {
         Map<String, Object> createEmployeeMap = getCreateEmployeeMap();
@@ -211,4 +357,23 @@ class EmployeeControllerTest extends BaseTest {
                 .log().ifValidationFails()
                 .extract().response().prettyPeek();
     }
-}
\ No newline at end of file
+
+    @Test
+    void test_deleteEmployeesByIds_should_succeed() {
+        BulkWriteResponse mockServiceResponse = BulkWriteResponse.of(List.of(
+                new BulkWriteResult(0, "14", null, null, null),
+                new BulkWriteResult(1, "15", null, ErrorCodeConstants.EMPLOYEE_NO_DATA, "No data returned for the request.")));
+        when(iEmployeeService.deleteEmployeesByIds(List.of("14", "15"))).thenReturn(mockServiceResponse);
+        BulkWriteResponse bulkWriteResponse = given()
+                .standaloneSetup(new EmployeeControllerImpl(iEmployeeService), new ApiControllerAdvice())
+                .contentType(ContentType.JSON)
+                .body(new BulkDeleteRequest(List.of("14", "15")))
+                .when()
+                .post("/api/v1/bulk/delete")
+                .then().statusCode(HttpStatus.OK.value())
+                .log().ifValidationFails()
+                .extract().as(BulkWriteResponse.class);
+
+        assertEquals(mockServiceResponse, bulkWriteResponse);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.rqchallenge.employees;
+
+import com.example.rqchallenge.BaseTest;
+import com.example.rqchallenge.employees.constants.ApplicationConstants;
+import com.example.rqchallenge.employees.dto.ApiError;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.GenericEmployeeResponse;
+import com.example.rqchallenge.employees.exception.BadRequestException;
+import com.example.rqchallenge.employees.exception.NoDataException;
+import com.example.rqchallenge.employees.exception.handler.ApiControllerAdvice;
+import com.example.rqchallenge.employees.service.IReactiveEmployeeService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.http.ContentType;
+import io.restassured.module.mockmvc.response.MockMvcResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class ReactiveEmployeeControllerTest extends BaseTest {
+
+    @Mock
+    private IReactiveEmployeeService iReactiveEmployeeService;
+
+    private ObjectMapper objectMapper;
+
+    private List<Employee> employees;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        objectMapper = new ObjectMapper();
+        GenericEmployeeResponse<?> genericEmployeeResponse = objectMapper.readValue(resourcesAsString(getAllEmployeesResponseResource), GenericEmployeeResponse.class);
+        employees = objectMapper.convertValue(genericEmployeeResponse.getData(), new TypeReference<List<Employee>>() {});
+    }
+
+    @Test
+    void test_getAllEmployees_api_request_should_succeed() {
+        when(iReactiveEmployeeService.getAllEmployees()).thenReturn(Flux.fromIterable(employees));
+        MockMvcResponse mockMvcResponse = given()
+                .standaloneSetup(new ReactiveEmployeeControllerImpl(iReactiveEmployeeService), new ApiControllerAdvice())
+                .contentType(ContentType.JSON)
+                .when()
+                .async()
+                .get("/api/v2")
+                .then().statusCode(HttpStatus.OK.value())
+                .contentType(ContentType.JSON)
+                .log().ifValidationFails()
+                .extract().response();
+        assertEquals(employees, mockMvcResponse.getBody().jsonPath().getList(".", Employee.class));
+    }
+
+    @Test
+    void test_getAllEmployees_with_ndjson_accept_header_should_stream_one_employee_per_line() throws Exception {
+        when(iReactiveEmployeeService.getAllEmployees()).thenReturn(Flux.fromIterable(employees));
+        MockMvcResponse mockMvcResponse = given()
+                .standaloneSetup(new ReactiveEmployeeControllerImpl(iReactiveEmployeeService), new ApiControllerAdvice())
+                .accept(MediaType.APPLICATION_NDJSON_VALUE)
+                .when()
+                .async()
+                .get("/api/v2")
+                .then().statusCode(HttpStatus.OK.value())
+                .log().ifValidationFails()
+                .extract().response();
+        String[] lines = mockMvcResponse.getBody().asString().split("\n");
+        assertEquals(24, lines.length);
+        assertEquals(employees.get(0), objectMapper.readValue(lines[0], Employee.class));
+    }
+
+    @Test
+    void test_getAllEmployees_api_request_with_no_data_error_should_be_mapped_by_advice() {
+        when(iReactiveEmployeeService.getAllEmployees()).thenReturn(Flux.error(new NoDataException()));
+        MockMvcResponse mockMvcResponse = given()
+                .standaloneSetup(new ReactiveEmployeeControllerImpl(iReactiveEmployeeService), new ApiControllerAdvice())
+                .contentType(ContentType.JSON)
+                .when()
+                .async()
+                .get("/api/v2")
+                .then().statusCode(HttpStatus.NOT_FOUND.value())
+                .log().ifValidationFails()
+                .extract().response();
+        ApiError apiError = mockMvcResponse.getBody().as(ApiError.class);
+        assertEquals(ApplicationConstants.API_NAME, apiError.getSource());
+        assertNotNull(apiError.getReasonCode());
+    }
+
+    @Test
+    void test_getEmployeeById_api_request_with_empty_result_should_return_not_found() {
+        when(iReactiveEmployeeService.getEmployeeById("12")).thenReturn(Mono.empty());
+        given()
+                .standaloneSetup(new ReactiveEmployeeControllerImpl(iReactiveEmployeeService), new ApiControllerAdvice())
+                .contentType(ContentType.JSON)
+                .when()
+                .async()
+                .get("/api/v2/12")
+                .then().statusCode(HttpStatus.NOT_FOUND.value())
+                .log().ifValidationFails();
+    }
+
+    @Test
+    void test_getTopHighestEarningEmployeeNames_api_request_with_invalid_k_should_return_bad_request() {
+        when(iReactiveEmployeeService.getTopHighestEarningEmployeeNames(0)).thenReturn(Flux.error(new BadRequestException("k must be at least 1.")));
+        given()
+                .standaloneSetup(new ReactiveEmployeeControllerImpl(iReactiveEmployeeService), new ApiControllerAdvice())
+                .contentType(ContentType.JSON)
+                .queryParam("k", 0)
+                .when()
+                .async()
+                .get("/api/v2/topHighestEarning")
+                .then().statusCode(HttpStatus.BAD_REQUEST.value())
+                .log().ifValidationFails();
+    }
+
+    @Test
+    void test_createEmployee_api_request_should_return_created() {
+        Employee created = employees.get(0);
+        when(iReactiveEmployeeService.createEmployee(getCreateEmployeeMap())).thenReturn(Mono.just(created));
+        MockMvcResponse mockMvcResponse = given()
+                .standaloneSetup(new ReactiveEmployeeControllerImpl(iReactiveEmployeeService), new ApiControllerAdvice())
+                .contentType(ContentType.JSON)
+                .body(getCreateEmployeeMap())
+                .when()
+                .async()
+                .post("/api/v2")
+                .then().statusCode(HttpStatus.CREATED.value())
+                .log().ifValidationFails()
+                .extract().response();
+        assertEquals(created, mockMvcResponse.getBody().as(Employee.class));
+    }
+}
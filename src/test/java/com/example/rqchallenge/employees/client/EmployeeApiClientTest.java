@@ -0,0 +1,338 @@
+package com.example.rqchallenge.employees.client;
+
+import com.example.rqchallenge.employees.constants.CircuitBreakerNames;
+import com.example.rqchallenge.employees.constants.EmployeesApiPaths;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.exception.DeadlineExceededException;
+import com.example.rqchallenge.employees.exception.EmployeeApiInternalServerException;
+import com.example.rqchallenge.employees.exception.NoDataException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.util.context.Context;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeApiClientTest {
+
+    private MockWebServer mockWebServer;
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private RetryBudget retryBudget;
+    private EmployeeApiClient employeeApiClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        // an empty budget keeps every call to a single attempt
+        retryBudget = new RetryBudget(0, 1);
+        retryBudget.tryAcquireRetry();
+        WebClient webClient = WebClient.builder()
+                .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort()))
+                .filter(new EmployeeApiCircuitBreakerFilter(circuitBreakerRegistry))
+                .build();
+        employeeApiClient = new EmployeeApiClient(webClient, retryBudget);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void test_getEmployeeById_with_failing_api_should_open_breaker_and_fail_fast() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        assertThrows(EmployeeApiInternalServerException.class, () -> employeeApiClient.getEmployeeById("1").block());
+        assertThrows(EmployeeApiInternalServerException.class, () -> employeeApiClient.getEmployeeById("1").block());
+        assertThrows(CallNotPermittedException.class, () -> employeeApiClient.getEmployeeById("1").block());
+
+        assertEquals(2, mockWebServer.getRequestCount());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker(CircuitBreakerNames.EMPLOYEE_API_GET_BY_ID).getState());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakerRegistry.circuitBreaker(CircuitBreakerNames.EMPLOYEE_API_GET_ALL).getState());
+    }
+
+    @Test
+    void test_getAllEmployees_with_rate_limited_api_should_record_failure() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(429));
+
+        assertThrows(EmployeeApiInternalServerException.class, () -> employeeApiClient.getAllEmployees().block());
+
+        assertEquals(1, circuitBreakerRegistry.circuitBreaker(CircuitBreakerNames.EMPLOYEE_API_GET_ALL).getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void test_getEmployeeById_with_refused_connection_and_no_retry_should_fail_with_api_error() throws IOException {
+        mockWebServer.shutdown();
+
+        assertThrows(EmployeeApiInternalServerException.class, () -> employeeApiClient.getEmployeeById("1").block());
+    }
+
+    @Test
+    void test_getEmployeeById_with_retry_budget_should_retry_once_per_token() {
+        retryBudget = new RetryBudget(0, 1);
+        employeeApiClient = new EmployeeApiClient(WebClient.builder()
+                .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort()))
+                .build(), retryBudget);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        assertThrows(EmployeeApiInternalServerException.class, () -> employeeApiClient.getEmployeeById("1").block());
+
+        assertEquals(2, mockWebServer.getRequestCount());
+        assertEquals(0, retryBudget.getAvailableTokens());
+    }
+
+    @Test
+    void test_getEmployeeById_with_retry_should_count_retries_per_path() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RetryMetrics retryMetrics = new RetryMetrics();
+        retryMetrics.bindTo(meterRegistry);
+        employeeApiClient = new EmployeeApiClient(WebClient.builder()
+                .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort()))
+                .build(), new RetryBudget(0, 1), new RequestHedger(), retryMetrics, Duration.ofSeconds(5));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        assertThrows(EmployeeApiInternalServerException.class, () -> employeeApiClient.getEmployeeById("1").block());
+
+        assertEquals(1, meterRegistry.get("employees.api.retries").tag("uri", EmployeesApiPaths.GET_BY_ID).functionCounter().count());
+        assertEquals(0, meterRegistry.get("employees.api.retries").tag("uri", EmployeesApiPaths.GET_ALL).functionCounter().count());
+        assertEquals(0, meterRegistry.get("employees.api.retries.exhausted").tag("uri", EmployeesApiPaths.GET_BY_ID).functionCounter().count());
+    }
+
+    @Test
+    void test_getEmployeeById_with_retries_used_up_should_not_spend_a_token_on_last_failure() {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RetryMetrics retryMetrics = new RetryMetrics();
+        retryMetrics.bindTo(meterRegistry);
+        RetryBudget budget = new RetryBudget(0, 10);
+        budget.bindTo(meterRegistry);
+        employeeApiClient = new EmployeeApiClient(WebClient.builder()
+                .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort()))
+                .build(), budget, new RequestHedger(), retryMetrics, Duration.ofSeconds(5), Duration.ofMillis(10));
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        assertThrows(EmployeeApiInternalServerException.class, () -> employeeApiClient.getEmployeeById("1").block());
+
+        assertEquals(4, mockWebServer.getRequestCount());
+        assertEquals(7, budget.getAvailableTokens());
+        assertEquals(3, meterRegistry.get("employees.retry.budget.retries").tag("outcome", "granted").functionCounter().count());
+        assertEquals(0, meterRegistry.get("employees.retry.budget.retries").tag("outcome", "denied").functionCounter().count());
+        assertEquals(3, meterRegistry.get("employees.api.retries").tag("uri", EmployeesApiPaths.GET_BY_ID).functionCounter().count());
+        assertEquals(1, meterRegistry.get("employees.api.retries.exhausted").tag("uri", EmployeesApiPaths.GET_BY_ID).functionCounter().count());
+    }
+
+    @Test
+    void test_retryBudget_should_cap_retries_to_ratio_of_requests() {
+        RetryBudget budget = new RetryBudget(0.5, 2);
+
+        assertTrue(budget.tryAcquireRetry());
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+
+        budget.recordRequest();
+        assertFalse(budget.tryAcquireRetry());
+        budget.recordRequest();
+        assertTrue(budget.tryAcquireRetry());
+
+        for (int i = 0; i < 100; i++) {
+            budget.recordRequest();
+        }
+        assertEquals(2, budget.getAvailableTokens());
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        budget.bindTo(meterRegistry);
+        assertEquals(3, meterRegistry.get("employees.retry.budget.retries").tag("outcome", "granted").functionCounter().count());
+        assertEquals(2, meterRegistry.get("employees.retry.budget.retries").tag("outcome", "denied").functionCounter().count());
+    }
+
+    @Test
+    void test_getEmployeeById_with_slow_api_should_fail_when_deadline_passes() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBodyDelay(2, TimeUnit.SECONDS).setBody("{}"));
+
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> employeeApiClient.getEmployeeById("1")
+                .contextWrite(Context.of(Deadline.class, Deadline.after(Duration.ofMillis(300))))
+                .block());
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void test_getEmployeeById_with_expired_deadline_should_not_call_api() {
+        assertThrows(DeadlineExceededException.class, () -> employeeApiClient.getEmployeeById("1")
+                .contextWrite(Context.of(Deadline.class, Deadline.after(Duration.ZERO)))
+                .block());
+
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void test_getEmployeeById_with_deadline_shorter_than_backoff_should_not_retry() {
+        retryBudget = new RetryBudget();
+        employeeApiClient = new EmployeeApiClient(WebClient.builder()
+                .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort()))
+                .build(), retryBudget);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        assertThrows(EmployeeApiInternalServerException.class, () -> employeeApiClient.getEmployeeById("1")
+                .contextWrite(Context.of(Deadline.class, Deadline.after(Duration.ofSeconds(1))))
+                .block());
+
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void test_getEmployeeById_with_deadline_shorter_than_next_backoff_should_stop_retrying() {
+        retryBudget = new RetryBudget();
+        employeeApiClient = new EmployeeApiClient(WebClient.builder()
+                .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort()))
+                .build(), retryBudget);
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        // the first backoff takes at most 3s and fits, the second one (up to 6s) would end past the deadline
+        assertThrows(EmployeeApiInternalServerException.class, () -> employeeApiClient.getEmployeeById("1")
+                .contextWrite(Context.of(Deadline.class, Deadline.after(Duration.ofMillis(3_500))))
+                .block());
+
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void test_getEmployeeById_with_hedging_should_answer_from_faster_hedge() {
+        RequestHedger requestHedger = new RequestHedger(true, 0.95, Duration.ofMillis(100), Duration.ofMillis(100), 1.0);
+        employeeApiClient = new EmployeeApiClient(WebClient.builder()
+                .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort()))
+                .build(), new RetryBudget(), requestHedger);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).setHeadersDelay(3, TimeUnit.SECONDS)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("{\"status\":\"success\",\"data\":{\"id\":1,\"employee_name\":\"Slow\"}}"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("{\"status\":\"success\",\"data\":{\"id\":1,\"employee_name\":\"Hedged\"}}"));
+
+        long start = System.nanoTime();
+        Employee employee = employeeApiClient.getEmployeeById("1").block();
+
+        assertEquals("Hedged", employee.getEmployeeName());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+        assertEquals(2, mockWebServer.getRequestCount());
+        assertEquals(1, requestHedger.getHedgesFired());
+        assertEquals(1, requestHedger.getHedgesWon());
+    }
+
+    @Test
+    void test_getEmployeeById_with_failing_hedge_should_answer_from_slower_primary() {
+        RequestHedger requestHedger = new RequestHedger(true, 0.95, Duration.ofMillis(100), Duration.ofMillis(100), 1.0);
+        employeeApiClient = new EmployeeApiClient(WebClient.builder()
+                .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort()))
+                .build(), retryBudget, requestHedger);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200).setHeadersDelay(500, TimeUnit.MILLISECONDS)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("{\"status\":\"success\",\"data\":{\"id\":1,\"employee_name\":\"Primary\"}}"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        Employee employee = employeeApiClient.getEmployeeById("1").block();
+
+        assertEquals("Primary", employee.getEmployeeName());
+        assertEquals(2, mockWebServer.getRequestCount());
+        assertEquals(1, requestHedger.getHedgesFired());
+        assertEquals(0, requestHedger.getHedgesWon());
+    }
+
+    @Test
+    void test_getEmployeeById_with_primary_failing_before_hedge_should_fail_without_hedging() {
+        RequestHedger requestHedger = new RequestHedger(true, 0.95, Duration.ofMillis(500), Duration.ofMillis(500), 1.0);
+        employeeApiClient = new EmployeeApiClient(WebClient.builder()
+                .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort()))
+                .build(), retryBudget, requestHedger);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(500));
+
+        assertThrows(EmployeeApiInternalServerException.class, () -> employeeApiClient.getEmployeeById("1").block());
+
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(0, requestHedger.getHedgesFired());
+    }
+
+    @Test
+    void test_getEmployeeById_with_fast_api_should_not_hedge() {
+        RequestHedger requestHedger = new RequestHedger(true, 0.95, Duration.ofSeconds(1), Duration.ofSeconds(1), 1.0);
+        employeeApiClient = new EmployeeApiClient(WebClient.builder()
+                .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort()))
+                .build(), new RetryBudget(), requestHedger);
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("{\"status\":\"success\",\"data\":{\"id\":1,\"employee_name\":\"Fast\"}}"));
+
+        assertEquals("Fast", employeeApiClient.getEmployeeById("1").block().getEmployeeName());
+
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(0, requestHedger.getHedgesFired());
+    }
+
+    @Test
+    void test_getAllEmployees_with_large_list_should_decode_every_employee() {
+        StringBuilder body = new StringBuilder("{\"status\":\"success\",\"data\":[");
+        for (int i = 1; i <= 5000; i++) {
+            body.append(i > 1 ? "," : "")
+                    .append(String.format("{\"id\":%d,\"employee_name\":\"Employee %d\",\"employee_salary\":%d,\"employee_age\":30,\"profile_image\":\"\"}", i, i, i * 10));
+        }
+        body.append("],\"message\":\"Successfully! All records has been fetched.\"}");
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setChunkedBody(body.toString(), 4096));
+
+        List<Employee> employees = employeeApiClient.getAllEmployees().block();
+
+        assertEquals(5000, employees.size());
+        assertEquals(Employee.builder().id(5000).employeeName("Employee 5000").employeeSalary(50000).employeeAge(30).profileImage("").build(),
+                employees.get(4999));
+    }
+
+    @Test
+    void test_getAllEmployees_with_failed_status_should_fail() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("{\"status\":\"failed\",\"data\":[{\"id\":1}]}"));
+
+        assertThrows(EmployeeApiInternalServerException.class, () -> employeeApiClient.getAllEmployees().block());
+    }
+
+    @Test
+    void test_getAllEmployees_with_missing_data_should_fail_with_no_data() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("{\"status\":\"success\",\"data\":null}"));
+
+        assertThrows(NoDataException.class, () -> employeeApiClient.getAllEmployees().block());
+    }
+}
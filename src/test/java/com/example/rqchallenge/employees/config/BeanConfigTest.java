@@ -0,0 +1,73 @@
+package com.example.rqchallenge.employees.config;
+
+import com.example.rqchallenge.BaseTest;
+import com.example.rqchallenge.employees.constants.EmployeesApiPaths;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BeanConfigTest extends BaseTest {
+
+    @Autowired
+    private ConnectionProvider employeeApiConnectionProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private WebClient webClient;
+
+    @Test
+    void test_employeeApiConnectionProvider_should_apply_configured_pool_size() {
+        assertEquals(50, employeeApiConnectionProvider.maxConnections());
+    }
+
+    @Test
+    void test_employeeApiConnectionProvider_should_publish_pool_metrics() throws IOException {
+        try (MockWebServer mockWebServer = new MockWebServer()) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(200).setBody("ok"));
+            mockWebServer.start();
+            WebClient webClient = WebClient.builder()
+                    .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort()))
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(employeeApiConnectionProvider)))
+                    .build();
+
+            assertEquals("ok", webClient.get().retrieve().bodyToMono(String.class).block());
+
+            for (String pool : new String[]{"active", "idle", "pending", "total"}) {
+                assertNotNull(meterRegistry.find("reactor.netty.connection.provider." + pool + ".connections")
+                        .tag("name", "employee-api").gauge(), pool);
+            }
+        }
+    }
+
+    @Test
+    void test_webClient_should_time_requests_by_path_template() throws IOException {
+        try (MockWebServer mockWebServer = new MockWebServer()) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+            mockWebServer.start();
+
+            assertThrows(WebClientResponseException.class, () -> webClient.mutate()
+                    .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort()))
+                    .build()
+                    .get().uri(EmployeesApiPaths.GET_BY_ID, 42).retrieve().bodyToMono(String.class).block());
+
+            Timer timer = meterRegistry.find("http.client.requests")
+                    .tags("uri", EmployeesApiPaths.GET_BY_ID, "status", "404", "outcome", "CLIENT_ERROR").timer();
+            assertNotNull(timer);
+            assertEquals(1, timer.count());
+        }
+    }
+}
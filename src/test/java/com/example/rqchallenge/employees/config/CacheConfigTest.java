@@ -0,0 +1,63 @@
+package com.example.rqchallenge.employees.config;
+
+import com.example.rqchallenge.BaseTest;
+import com.example.rqchallenge.employees.constants.CacheNames;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest extends BaseTest {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void test_cacheManager_should_register_bounded_caches_per_name() {
+        assertEquals(10000, nativeCache(CacheNames.EMPLOYEES_SEARCH).policy().eviction().orElseThrow().getMaximum());
+        assertEquals(1, nativeCache(CacheNames.EMPLOYEES_HIGHEST_SALARY).policy().eviction().orElseThrow().getMaximum());
+        assertEquals(1, nativeCache(CacheNames.EMPLOYEES_TOP_TEN_EARNERS).policy().eviction().orElseThrow().getMaximum());
+        assertTrue(nativeCache(CacheNames.EMPLOYEES_SEARCH).policy().expireAfterAccess().isPresent());
+        assertTrue(nativeCache(CacheNames.EMPLOYEES_HIGHEST_SALARY).policy().expireAfterWrite().isPresent());
+    }
+
+    @Test
+    void test_cacheManager_with_unknown_cache_name_should_apply_default_spec() {
+        assertEquals(1000, nativeCache("someOtherCache").policy().eviction().orElseThrow().getMaximum());
+    }
+
+    @Test
+    void test_cache_over_maximum_size_should_evict_and_record_stats() {
+        Cache<Object, Object> highestSalaryCache = nativeCache(CacheNames.EMPLOYEES_HIGHEST_SALARY);
+        highestSalaryCache.invalidateAll();
+        highestSalaryCache.put("first", 1);
+        highestSalaryCache.put("second", 2);
+        highestSalaryCache.getIfPresent("second");
+        highestSalaryCache.cleanUp();
+
+        assertEquals(1, highestSalaryCache.estimatedSize());
+        assertTrue(highestSalaryCache.stats().evictionCount() >= 1);
+        assertTrue(highestSalaryCache.stats().requestCount() >= 1);
+    }
+
+    @Test
+    void test_cacheManager_should_bind_statistics_for_every_cache_name() {
+        for (String cacheName : CacheNames.ALL) {
+            assertNotNull(meterRegistry.find("cache.gets").tag("cache", cacheName).tag("result", "hit").functionCounter(), cacheName);
+            assertNotNull(meterRegistry.find("cache.evictions").tag("cache", cacheName).functionCounter(), cacheName);
+        }
+    }
+
+    private Cache<Object, Object> nativeCache(String cacheName) {
+        org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
+        assertInstanceOf(CaffeineCache.class, cache);
+        return ((CaffeineCache) cache).getNativeCache();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.rqchallenge.employees.filter;
+
+import com.example.rqchallenge.employees.client.Deadline;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestFilterTest {
+
+    private static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(5);
+
+    private RequestFilter requestFilter;
+
+    @BeforeEach
+    void setUp() {
+        requestFilter = new RequestFilter();
+        ReflectionTestUtils.setField(requestFilter, "defaultDeadline", DEFAULT_DEADLINE);
+    }
+
+    @Test
+    void test_doFilter_with_shorter_deadline_header_should_use_it() throws ServletException, IOException {
+        Duration remaining = deadlineFor("200").remaining();
+
+        assertTrue(remaining.compareTo(Duration.ofMillis(200)) <= 0, remaining.toString());
+    }
+
+    @Test
+    void test_doFilter_with_huge_deadline_header_should_fall_back_to_default() throws ServletException, IOException {
+        for (String header : new String[]{"9223372036854775807", "9300000000000", "5001", "-1", "soon"}) {
+            Duration remaining = deadlineFor(header).remaining();
+
+            assertTrue(remaining.compareTo(DEFAULT_DEADLINE) <= 0 && remaining.compareTo(Duration.ofSeconds(4)) > 0,
+                    header + ": " + remaining);
+        }
+    }
+
+    private Deadline deadlineFor(String header) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.addHeader(RequestFilter.REQUEST_DEADLINE_HEADER, header);
+
+        requestFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        return (Deadline) request.getAttribute(RequestFilter.REQUEST_DEADLINE_KEY);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.BaseTest;
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.constants.CacheNames;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotChangedEvent;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotManager;
+import com.example.rqchallenge.employees.util.EmployeeRankingUtil;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeCacheMaintainerTest extends BaseTest {
+
+    private MockWebServer mockWebServer;
+
+    private CaffeineCacheManager cacheManager;
+
+    private EmployeeSnapshotManager employeeSnapshotManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        String baseUrl = String.format("http://localhost:%s", mockWebServer.getPort());
+        cacheManager = new CaffeineCacheManager();
+        EmployeeCacheMaintainer employeeCacheMaintainer = new EmployeeCacheMaintainer(cacheManager);
+        employeeSnapshotManager = new EmployeeSnapshotManager(new EmployeeApiClient(WebClient.builder().baseUrl(baseUrl).build()),
+                event -> employeeCacheMaintainer.onEmployeeSnapshotChanged((EmployeeSnapshotChangedEvent) event),
+                Duration.ofMinutes(1), Duration.ofMinutes(10));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeesResponseResource)));
+        employeeSnapshotManager.current();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        employeeSnapshotManager.shutdown();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void test_create_should_patch_matching_search_entries_only() {
+        Cache searchCache = cacheManager.getCache(CacheNames.EMPLOYEES_SEARCH);
+        searchCache.put("an", search("an"));
+        searchCache.put("tiger", search("tiger"));
+        Employee created = Employee.builder().id(125555).employeeName("Ann Test").employeeSalary(1000).employeeAge(30).profileImage("").build();
+
+        employeeSnapshotManager.applyChanges(List.of(created), List.of());
+
+        assertEquals(search("an"), searchCache.get("an", List.class));
+        assertEquals(4, searchCache.get("an", List.class).size());
+        assertEquals(search("tiger"), searchCache.get("tiger", List.class));
+    }
+
+    @Test
+    void test_delete_should_drop_employee_from_search_entries_and_evict_empty_ones() {
+        Cache searchCache = cacheManager.getCache(CacheNames.EMPLOYEES_SEARCH);
+        searchCache.put("an", search("an"));
+        searchCache.put("tiger", search("tiger"));
+
+        employeeSnapshotManager.applyChanges(List.of(), List.of(1, 7));
+
+        assertEquals(search("an"), searchCache.get("an", List.class));
+        assertEquals(2, searchCache.get("an", List.class).size());
+        assertNull(searchCache.get("tiger"));
+    }
+
+    @Test
+    void test_create_with_higher_salary_should_update_highest_salary_and_top_earners() {
+        Cache highestSalaryCache = cacheManager.getCache(CacheNames.EMPLOYEES_HIGHEST_SALARY);
+        Cache topEarnersCache = cacheManager.getCache(CacheNames.EMPLOYEES_TOP_TEN_EARNERS);
+        highestSalaryCache.put(SimpleKey.EMPTY, HIGHEST_SALARY);
+        topEarnersCache.put(SimpleKey.EMPTY, EmployeeRankingUtil.topEarnerNames(employeeSnapshotManager.current(), 10));
+        Employee created = Employee.builder().id(125555).employeeName("New Top Earner").employeeSalary(HIGHEST_SALARY + 1).employeeAge(30).profileImage("").build();
+
+        employeeSnapshotManager.applyChanges(List.of(created), List.of());
+
+        assertEquals(HIGHEST_SALARY + 1, highestSalaryCache.get(SimpleKey.EMPTY, Integer.class));
+        List<?> topEarners = topEarnersCache.get(SimpleKey.EMPTY, List.class);
+        assertEquals(10, topEarners.size());
+        assertEquals("New Top Earner", topEarners.get(0));
+    }
+
+    @Test
+    void test_create_without_salary_or_name_should_keep_patched_caches() {
+        Cache searchCache = cacheManager.getCache(CacheNames.EMPLOYEES_SEARCH);
+        Cache highestSalaryCache = cacheManager.getCache(CacheNames.EMPLOYEES_HIGHEST_SALARY);
+        searchCache.put("an", search("an"));
+        highestSalaryCache.put(SimpleKey.EMPTY, HIGHEST_SALARY);
+        Employee created = Employee.builder().id(125555).employeeAge(30).profileImage("").build();
+
+        employeeSnapshotManager.applyChanges(List.of(created), List.of());
+
+        assertEquals(search("an"), searchCache.get("an", List.class));
+        assertEquals(HIGHEST_SALARY, highestSalaryCache.get(SimpleKey.EMPTY, Integer.class));
+        assertEquals(created, employeeSnapshotManager.current().findById(125555).orElseThrow());
+    }
+
+    @Test
+    void test_delete_of_lower_earner_should_keep_highest_salary() {
+        Cache highestSalaryCache = cacheManager.getCache(CacheNames.EMPLOYEES_HIGHEST_SALARY);
+        highestSalaryCache.put(SimpleKey.EMPTY, HIGHEST_SALARY);
+
+        employeeSnapshotManager.applyChanges(List.of(), List.of(2));
+
+        assertEquals(HIGHEST_SALARY, highestSalaryCache.get(SimpleKey.EMPTY, Integer.class));
+    }
+
+    @Test
+    void test_full_reload_should_clear_derived_caches() {
+        Cache searchCache = cacheManager.getCache(CacheNames.EMPLOYEES_SEARCH);
+        searchCache.put("an", search("an"));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getEmployeesBySearchStringResponse)));
+
+        employeeSnapshotManager.refresh();
+
+        assertNull(searchCache.get("an"));
+    }
+
+    private List<Employee> search(String searchString) {
+        return employeeSnapshotManager.current().getEmployees().stream()
+                .filter(employee -> employee.getEmployeeName() != null && employee.getEmployeeName().toLowerCase().contains(searchString))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,12 +1,24 @@
 package com.example.rqchallenge.employees.service;
 
 import com.example.rqchallenge.BaseTest;
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
 import com.example.rqchallenge.employees.constants.ApplicationConstants;
 import com.example.rqchallenge.employees.constants.EmployeesApiPaths;
+import com.example.rqchallenge.employees.constants.ErrorCodeConstants;
+import com.example.rqchallenge.employees.dto.BatchLookupError;
+import com.example.rqchallenge.employees.dto.BatchLookupResponse;
+import com.example.rqchallenge.employees.dto.BulkWriteResponse;
+import com.example.rqchallenge.employees.dto.BulkWriteResult;
 import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.dto.EmployeePage;
+import com.example.rqchallenge.employees.dto.EmployeePageRequest;
+import com.example.rqchallenge.employees.dto.EmployeeStatisticsResponse;
+import com.example.rqchallenge.employees.dto.HistogramBucket;
+import com.example.rqchallenge.employees.dto.ValueStatistics;
 import com.example.rqchallenge.employees.exception.BadRequestException;
 import com.example.rqchallenge.employees.exception.EmployeeApiInternalServerException;
 import com.example.rqchallenge.employees.exception.NoDataException;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotManager;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
@@ -15,13 +27,18 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.json.BasicJsonTester;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -137,6 +154,77 @@ class EmployeeServiceImplTest extends BaseTest {
         assertEquals(EmployeesApiPaths.GET_ALL, request.getPath());
     }
 
+    @Test
+    void test_getEmployeesPage_should_walk_all_employees_in_sort_order() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeesResponseResource)));
+
+        List<Employee> pagedEmployees = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            EmployeePage page = iEmployeeService.getEmployeesPage(new EmployeePageRequest(10, cursor, cursor == null ? "salary" : null, cursor == null ? "desc" : null));
+            assertEquals(24, page.getTotal());
+            pagedEmployees.addAll(page.getEmployees());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        List<Employee> expected = iEmployeeService.getAllEmployees().stream()
+                .sorted(Comparator.comparing(Employee::getEmployeeSalary).reversed())
+                .collect(Collectors.toList());
+        assertEquals(expected.stream().map(Employee::getEmployeeSalary).collect(Collectors.toList()),
+                pagedEmployees.stream().map(Employee::getEmployeeSalary).collect(Collectors.toList()));
+        assertEquals(Set.copyOf(expected), Set.copyOf(pagedEmployees));
+        assertEquals(HIGHEST_SALARY, pagedEmployees.get(0).getEmployeeSalary());
+    }
+
+    @Test
+    void test_getEmployeesByNameSearchPage_should_sort_matches_by_name() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeesResponseResource)));
+
+        EmployeePage firstPage = iEmployeeService.getEmployeesByNameSearchPage("an", new EmployeePageRequest(2, null, "name", null));
+        EmployeePage lastPage = iEmployeeService.getEmployeesByNameSearchPage("an", new EmployeePageRequest(2, firstPage.getNextCursor(), null, null));
+
+        assertEquals(3, firstPage.getTotal());
+        assertEquals(List.of("Caesar Vance", "Herrod Chandler"), firstPage.getEmployees().stream().map(Employee::getEmployeeName).collect(Collectors.toList()));
+        assertEquals(List.of("Tatyana Fitzpatrick"), lastPage.getEmployees().stream().map(Employee::getEmployeeName).collect(Collectors.toList()));
+        assertNull(lastPage.getNextCursor());
+        assertThrowsExactly(BadRequestException.class, () -> iEmployeeService.getEmployeesByNameSearchPage("nix", new EmployeePageRequest(2, firstPage.getNextCursor(), null, null)));
+        // "son" and "sq0" share a String hash code, the cursor must still tell the two searches apart
+        EmployeePage sonPage = iEmployeeService.getEmployeesByNameSearchPage("Son", new EmployeePageRequest(2, null, null, null));
+        assertEquals("son".hashCode(), "sq0".hashCode());
+        assertEquals(3, iEmployeeService.getEmployeesByNameSearchPage("SON", new EmployeePageRequest(2, sonPage.getNextCursor(), null, null)).getTotal());
+        assertThrowsExactly(BadRequestException.class, () -> iEmployeeService.getEmployeesByNameSearchPage("sq0", new EmployeePageRequest(2, sonPage.getNextCursor(), null, null)));
+        assertThrowsExactly(BadRequestException.class, () -> iEmployeeService.getEmployeesPage(new EmployeePageRequest(2, null, "salary", "sideways")));
+        assertThrowsExactly(BadRequestException.class, () -> iEmployeeService.getEmployeesPage(new EmployeePageRequest(0, null, null, null)));
+        assertThrowsExactly(BadRequestException.class, () -> iEmployeeService.getEmployeesPage(new EmployeePageRequest(null, "not-a-cursor", null, null)));
+    }
+
+    @Test
+    void test_getEmployeesPage_with_cursor_from_previous_version_should_throw_exception() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeesResponseResource)));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(createEmployeeResponse)));
+
+        EmployeePage firstPage = iEmployeeService.getEmployeesPage(new EmployeePageRequest(10, null, "age", null));
+        iEmployeeService.createEmployee(getCreateEmployeeMap());
+
+        assertThrowsExactly(BadRequestException.class, () -> iEmployeeService.getEmployeesPage(new EmployeePageRequest(10, firstPage.getNextCursor(), null, null)));
+        assertEquals(25, iEmployeeService.getEmployeesPage(new EmployeePageRequest(10, null, "age", null)).getTotal());
+    }
+
     @Test
     void test_getEmployeeById_should_succeed() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse()
@@ -159,6 +247,20 @@ class EmployeeServiceImplTest extends BaseTest {
         assertEquals("", actualEmployeeResponse.getProfileImage());
     }
 
+    @Test
+    void test_getEmployeeById_with_padded_id_should_call_api_with_trimmed_id() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeeByIdResponse)));
+
+        Optional<Employee> employeeByIdOptionalResponse = iEmployeeService.getEmployeeById(" 12 ");
+        RecordedRequest request = mockWebServer.takeRequest();
+
+        assertEquals(EmployeesApiPaths.GET_BY_ID.replace("{id}", "12"), request.getPath());
+        assertEquals("Quinn Flynn", employeeByIdOptionalResponse.orElseThrow().getEmployeeName());
+    }
+
     @Test
     void test_getEmployeeById_with_invalid_id_should_throw_exception() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse()
@@ -172,6 +274,87 @@ class EmployeeServiceImplTest extends BaseTest {
         assertEquals(EmployeesApiPaths.GET_BY_ID.replace("{id}", testEmployeeId), request.getPath());
     }
 
+    @Test
+    void test_getEmployeeById_after_getAllEmployees_should_be_served_from_snapshot() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeesResponseResource)));
+
+        iEmployeeService.getAllEmployees();
+        Optional<Employee> employeeByIdOptionalResponse = iEmployeeService.getEmployeeById("12");
+
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertTrue(employeeByIdOptionalResponse.isPresent());
+        assertEquals("Quinn Flynn", employeeByIdOptionalResponse.get().getEmployeeName());
+    }
+
+    @Test
+    void test_getEmployeeById_with_invalid_id_should_not_call_api_again_while_miss_is_cached() {
+        EmployeeApiClient employeeApiClient = new EmployeeApiClient(WebClient.builder().baseUrl(String.format("http://localhost:%s", mockWebServer.getPort())).build());
+        iEmployeeService = new EmployeeServiceImpl(employeeApiClient, new EmployeeSnapshotManager(employeeApiClient), new ConcurrentMapCacheManager());
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeeByIdWithInvalidIdResponse)));
+
+        String testEmployeeId = "10000000000_invalid_id";
+        assertThrowsExactly(NoDataException.class, () -> iEmployeeService.getEmployeeById(testEmployeeId));
+        assertThrowsExactly(NoDataException.class, () -> iEmployeeService.getEmployeeById(testEmployeeId));
+
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void test_getEmployeesByIds_should_return_partial_results_with_per_id_errors() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeesResponseResource)));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeeByIdWithInvalidIdResponse)));
+
+        iEmployeeService.getAllEmployees();
+        BatchLookupResponse batchLookupResponse = iEmployeeService.getEmployeesByIds(List.of("12", " ", "1000", "2", "12"));
+
+        assertEquals(2, mockWebServer.getRequestCount());
+        assertEquals(List.of(12, 2), batchLookupResponse.getEmployees().stream().map(Employee::getId).collect(Collectors.toList()));
+        assertEquals(List.of(" ", "1000"), batchLookupResponse.getErrors().stream().map(BatchLookupError::getId).collect(Collectors.toList()));
+        assertEquals(ErrorCodeConstants.EXTERNAL_API_INVALID_FIELD, batchLookupResponse.getErrors().get(0).getReasonCode());
+        assertEquals(ErrorCodeConstants.EMPLOYEE_NOT_FOUND_CODE, batchLookupResponse.getErrors().get(1).getReasonCode());
+    }
+
+    @Test
+    void test_getEmployeesByIds_with_no_ids_should_throw_exception() {
+        assertThrowsExactly(BadRequestException.class, () -> iEmployeeService.getEmployeesByIds(List.of()));
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void test_getEmployeeById_with_concurrent_requests_should_share_one_api_call() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBodyDelay(300, TimeUnit.MILLISECONDS)
+                .setBody(resourcesAsString(getAllEmployeeByIdResponse)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Optional<Employee>>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> iEmployeeService.getEmployeeById("12")));
+            }
+            for (Future<Optional<Employee>> response : responses) {
+                assertEquals("Quinn Flynn", response.get(5, TimeUnit.SECONDS).orElseThrow().getEmployeeName());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
     @Test
     void test_getHighestSalaryOfEmployees_should_succeed() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse()
@@ -201,6 +384,60 @@ class EmployeeServiceImplTest extends BaseTest {
         assertEquals(EmployeesApiPaths.GET_ALL, request.getPath());
     }
 
+    @Test
+    void test_getEmployeeStatistics_should_succeed() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeesResponseResource)));
+
+        EmployeeStatisticsResponse statistics = iEmployeeService.getEmployeeStatistics();
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals(EmployeesApiPaths.GET_ALL, request.getPath());
+
+        assertEquals(24, statistics.getEmployeeCount());
+        ValueStatistics salary = statistics.getSalary();
+        assertEquals(24, salary.getCount());
+        assertEquals(85600, salary.getMin());
+        assertEquals(HIGHEST_SALARY, salary.getMax());
+        assertEquals(6644770 / 24.0, salary.getAverage(), 1e-9);
+        assertEquals(227500.0, salary.getMedian());
+        assertEquals(Map.of("p25", 132000, "p75", 345000, "p90", 470600, "p95", 675000, "p99", 725000), salary.getPercentiles());
+        assertEquals(new HistogramBucket(0, 100000, 3), salary.getHistogram().get(0));
+        assertEquals(new HistogramBucket(1000000, null, 0), salary.getHistogram().get(salary.getHistogram().size() - 1));
+        ValueStatistics age = statistics.getAge();
+        assertEquals(24, age.getCount());
+        assertEquals(42.125, age.getAverage());
+        assertNull(age.getMedian());
+        assertEquals(new HistogramBucket(50, 60, 3), age.getHistogram().get(5));
+    }
+
+    @Test
+    void test_getEmployeeStatistics_after_createEmployee_should_include_created_employee() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeesResponseResource)));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(createEmployeeResponse)));
+
+        EmployeeStatisticsResponse before = iEmployeeService.getEmployeeStatistics();
+        iEmployeeService.createEmployee(getCreateEmployeeMap());
+        EmployeeStatisticsResponse after = iEmployeeService.getEmployeeStatistics();
+
+        assertEquals(before.getVersion() + 1, after.getVersion());
+        assertEquals(25, after.getEmployeeCount());
+        assertEquals(25, after.getSalary().getCount());
+        assertEquals((6644770 + 543989) / 25.0, after.getSalary().getAverage(), 1e-9);
+        assertEquals(237500.0, after.getSalary().getMedian());
+        assertEquals(HIGHEST_SALARY, after.getSalary().getMax());
+        assertEquals(new HistogramBucket(500000, 600000, 1), after.getSalary().getHistogram().get(5));
+        assertEquals(new HistogramBucket(50, 60, 4), after.getAge().getHistogram().get(5));
+    }
+
     @Test
     void test_getTopTenHighestEarningEmployeeNames_should_succeed() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse()
@@ -217,6 +454,32 @@ class EmployeeServiceImplTest extends BaseTest {
         assertEquals(10, topTenHighestEarningEmployeeNames.size());
     }
 
+    @Test
+    void test_getTopHighestEarningEmployeeNames_should_return_k_names_in_salary_order() throws InterruptedException {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeesResponseResource)));
+
+        List<String> topThree = iEmployeeService.getTopHighestEarningEmployeeNames(3);
+        List<String> topTen = iEmployeeService.getTopTenHighestEarningEmployeeNames();
+        List<String> everyone = iEmployeeService.getTopHighestEarningEmployeeNames(100);
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals(EmployeesApiPaths.GET_ALL, request.getPath());
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(List.of("Paul Byrd", "Yuri Berry", "Charde Marshall"), topThree);
+        assertEquals(topTen.subList(0, 3), topThree);
+        assertEquals(24, everyone.size());
+        assertEquals(topTen, everyone.subList(0, 10));
+    }
+
+    @Test
+    void test_getTopHighestEarningEmployeeNames_with_non_positive_k_should_throw_exception() {
+        assertThrowsExactly(BadRequestException.class, () -> iEmployeeService.getTopHighestEarningEmployeeNames(0));
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
     @Test
     void test_getTopTenHighestEarningEmployeeNames_with_no_data_result_should_throw_exception() throws InterruptedException {
         mockWebServer.enqueue(new MockResponse()
@@ -252,6 +515,59 @@ class EmployeeServiceImplTest extends BaseTest {
         assertEquals(testEmployee.get(ApplicationConstants.FIELD_EMPLOYEE_PROFILE_IMAGE), actualCreatedEmployee.getProfileImage());
     }
 
+    @Test
+    void test_createEmployees_should_report_result_per_item() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(createEmployeeResponse)));
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("{\"status\":\"failed\"}"));
+
+        BulkWriteResponse bulkWriteResponse = iEmployeeService.createEmployees(List.of(getCreateEmployeeMap(), getCreateEmployeeMap()));
+
+        assertEquals(2, mockWebServer.getRequestCount());
+        assertEquals(1, bulkWriteResponse.getSucceeded());
+        assertEquals(1, bulkWriteResponse.getFailed());
+        assertEquals(List.of(0, 1), bulkWriteResponse.getResults().stream().map(BulkWriteResult::getIndex).collect(Collectors.toList()));
+        assertTrue(bulkWriteResponse.getResults().stream().anyMatch(result -> ErrorCodeConstants.EXTERNAL_API_SERVER_ERROR.equals(result.getReasonCode())));
+    }
+
+    @Test
+    void test_createEmployees_with_one_invalid_item_should_not_call_api() {
+        Map<String, Object> invalidEmployee = new HashMap<>(getCreateEmployeeMap());
+        invalidEmployee.put("AN_INVALID_FIELD", "test value for invalid field");
+
+        BadRequestException exception = assertThrowsExactly(BadRequestException.class,
+                () -> iEmployeeService.createEmployees(List.of(getCreateEmployeeMap(), invalidEmployee)));
+
+        assertTrue(exception.getMessage().startsWith("Item 1:"));
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void test_deleteEmployeesByIds_should_remove_deleted_employees_from_snapshot() {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(getAllEmployeesResponseResource)));
+        for (int i = 0; i < 2; i++) {
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(200)
+                    .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .setBody(resourcesAsString(deleteEmployeeResponse)));
+        }
+
+        iEmployeeService.getAllEmployees();
+        BulkWriteResponse bulkWriteResponse = iEmployeeService.deleteEmployeesByIds(List.of("1", "2"));
+
+        assertEquals(2, bulkWriteResponse.getSucceeded());
+        assertEquals(22, iEmployeeService.getAllEmployees().size());
+        assertEquals(3, mockWebServer.getRequestCount());
+    }
+
     @Test
     void test_createEmployee_with_invalid_field_should_throw_exception() {
         mockWebServer.enqueue(new MockResponse());
@@ -0,0 +1,97 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.employees.exception.EmployeeApiInternalServerException;
+import com.example.rqchallenge.employees.exception.NoDataException;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotManager;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmployeeWarmupTest {
+
+    private EmployeeSnapshotManager employeeSnapshotManager;
+
+    private IEmployeeService employeeService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        employeeSnapshotManager = mock(EmployeeSnapshotManager.class);
+        employeeService = mock(IEmployeeService.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void test_run_should_precompute_rankings_and_record_completed_warmup() {
+        EmployeeWarmup employeeWarmup = new EmployeeWarmup(employeeSnapshotManager, employeeService, meterRegistry, Duration.ofSeconds(5));
+        EmployeeWarmupHealthIndicator healthIndicator = new EmployeeWarmupHealthIndicator(employeeWarmup);
+        assertEquals(Status.OUT_OF_SERVICE, healthIndicator.health().getStatus());
+
+        employeeWarmup.run(new DefaultApplicationArguments());
+
+        verify(employeeSnapshotManager).current();
+        verify(employeeService).getHighestSalaryOfEmployees();
+        verify(employeeService).getTopTenHighestEarningEmployeeNames();
+        assertEquals(EmployeeWarmup.State.COMPLETED, employeeWarmup.getState());
+        Health health = healthIndicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertNotNull(health.getDetails().get("duration"));
+        Timer timer = meterRegistry.get("employees.warmup").tag("outcome", "completed").timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void test_run_with_empty_dataset_should_complete() {
+        when(employeeService.getHighestSalaryOfEmployees()).thenThrow(new NoDataException());
+        EmployeeWarmup employeeWarmup = new EmployeeWarmup(employeeSnapshotManager, employeeService, meterRegistry, Duration.ofSeconds(5));
+
+        employeeWarmup.run(new DefaultApplicationArguments());
+
+        assertEquals(EmployeeWarmup.State.COMPLETED, employeeWarmup.getState());
+    }
+
+    @Test
+    void test_run_with_failing_upstream_should_become_ready_degraded() {
+        when(employeeSnapshotManager.current()).thenThrow(new EmployeeApiInternalServerException("Upstream unavailable"));
+        EmployeeWarmup employeeWarmup = new EmployeeWarmup(employeeSnapshotManager, employeeService, meterRegistry, Duration.ofSeconds(5));
+
+        employeeWarmup.run(new DefaultApplicationArguments());
+
+        assertEquals(EmployeeWarmup.State.DEGRADED, employeeWarmup.getState());
+        Health health = new EmployeeWarmupHealthIndicator(employeeWarmup).health();
+        assertEquals(Status.UP, health.getStatus());
+        assertTrue(health.getDetails().get("degradedReason").toString().contains("EmployeeApiInternalServerException"));
+        verifyNoInteractions(employeeService);
+    }
+
+    @Test
+    void test_run_with_slow_upstream_should_stop_waiting_after_timeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(employeeSnapshotManager.current()).thenAnswer(invocation -> {
+            release.await();
+            return null;
+        });
+        EmployeeWarmup employeeWarmup = new EmployeeWarmup(employeeSnapshotManager, employeeService, meterRegistry, Duration.ofMillis(200));
+
+        try {
+            employeeWarmup.run(new DefaultApplicationArguments());
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(EmployeeWarmup.State.DEGRADED, employeeWarmup.getState());
+        assertTrue(employeeWarmup.getDuration().compareTo(Duration.ofSeconds(5)) < 0);
+        assertEquals(1, meterRegistry.get("employees.warmup").tag("outcome", "degraded").timer().count());
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.rqchallenge.employees.service;
+
+import com.example.rqchallenge.BaseTest;
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.constants.ApplicationConstants;
+import com.example.rqchallenge.employees.constants.EmployeesApiPaths;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.exception.BadRequestException;
+import com.example.rqchallenge.employees.exception.NoDataException;
+import com.example.rqchallenge.employees.snapshot.EmployeeSnapshotManager;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveEmployeeServiceImplTest extends BaseTest {
+
+    private MockWebServer mockWebServer;
+
+    private IReactiveEmployeeService iReactiveEmployeeService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        String baseUrl = String.format("http://localhost:%s", mockWebServer.getPort());
+        iReactiveEmployeeService = new ReactiveEmployeeServiceImpl(WebClient.builder().baseUrl(baseUrl).build());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void test_getAllEmployees_should_not_call_api_before_subscription() {
+        Flux<Employee> employees = iReactiveEmployeeService.getAllEmployees();
+
+        assertNotNull(employees);
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void test_getAllEmployees_with_concurrent_subscribers_should_share_one_api_call() throws InterruptedException {
+        enqueue(getAllEmployeesResponseResource, Duration.ofMillis(200));
+
+        List<List<Employee>> results = Flux.range(0, 50)
+                .flatMap(i -> iReactiveEmployeeService.getAllEmployees().collectList())
+                .collectList()
+                .block(Duration.ofSeconds(10));
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals(EmployeesApiPaths.GET_ALL, request.getPath());
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(50, results.size());
+        assertTrue(results.stream().allMatch(employees -> employees.size() == 24));
+    }
+
+    @Test
+    void test_getEmployeesByNameSearch_with_non_present_string_should_emit_no_data_error() {
+        enqueue(getAllEmployeesResponseResource, Duration.ZERO);
+
+        Flux<Employee> employees = iReactiveEmployeeService.getEmployeesByNameSearch("THIS_STRING_SHOULD_NOT_EXIST");
+
+        assertThrowsExactly(NoDataException.class, () -> employees.collectList().block());
+    }
+
+    @Test
+    void test_getEmployeesByNameSearch_with_blank_string_should_emit_error_without_api_call() {
+        Flux<Employee> employees = iReactiveEmployeeService.getEmployeesByNameSearch(" ");
+
+        assertThrowsExactly(BadRequestException.class, () -> employees.collectList().block());
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void test_getEmployeeById_with_invalid_id_should_emit_no_data_error() throws InterruptedException {
+        enqueue(getAllEmployeeByIdWithInvalidIdResponse, Duration.ZERO);
+
+        String testEmployeeId = "10000000000_invalid_id";
+        assertThrowsExactly(NoDataException.class, () -> iReactiveEmployeeService.getEmployeeById(testEmployeeId).block());
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals(EmployeesApiPaths.GET_BY_ID.replace("{id}", testEmployeeId), request.getPath());
+    }
+
+    @Test
+    void test_getEmployeeById_with_padded_id_should_call_api_with_trimmed_id() throws InterruptedException {
+        EmployeeApiClient employeeApiClient = new EmployeeApiClient(WebClient.builder().baseUrl(String.format("http://localhost:%s", mockWebServer.getPort())).build());
+        iReactiveEmployeeService = new ReactiveEmployeeServiceImpl(employeeApiClient, new EmployeeSnapshotManager(employeeApiClient), new ConcurrentMapCacheManager());
+        enqueue(getAllEmployeeByIdWithInvalidIdResponse, Duration.ZERO);
+
+        String testEmployeeId = "10000000000_invalid_id";
+        assertThrowsExactly(NoDataException.class, () -> iReactiveEmployeeService.getEmployeeById(" " + testEmployeeId + " ").block());
+        assertThrowsExactly(NoDataException.class, () -> iReactiveEmployeeService.getEmployeeById(testEmployeeId).block());
+
+        RecordedRequest request = mockWebServer.takeRequest();
+        assertEquals(EmployeesApiPaths.GET_BY_ID.replace("{id}", testEmployeeId), request.getPath());
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void test_getTopHighestEarningEmployeeNames_should_match_highest_salary() {
+        enqueue(getAllEmployeesResponseResource, Duration.ZERO);
+
+        List<String> topThree = iReactiveEmployeeService.getTopHighestEarningEmployeeNames(3).collectList().block();
+        Integer highestSalary = iReactiveEmployeeService.getHighestSalaryOfEmployees().block();
+
+        assertEquals(List.of("Paul Byrd", "Yuri Berry", "Charde Marshall"), topThree);
+        assertEquals(HIGHEST_SALARY, highestSalary);
+        assertEquals(1, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void test_createEmployee_should_patch_snapshot() throws InterruptedException {
+        enqueue(getAllEmployeesResponseResource, Duration.ZERO);
+        enqueue(createEmployeeResponse, Duration.ZERO);
+        Map<String, Object> testEmployee = getCreateEmployeeMap();
+        iReactiveEmployeeService.getAllEmployees().collectList().block();
+
+        Mono<Employee> created = iReactiveEmployeeService.createEmployee(testEmployee);
+        Employee actualCreatedEmployee = created.block();
+
+        mockWebServer.takeRequest();
+        assertEquals(EmployeesApiPaths.CREATE, mockWebServer.takeRequest(1, TimeUnit.SECONDS).getPath());
+        assertEquals(testEmployee.get(ApplicationConstants.FIELD_EMPLOYEE_NAME), actualCreatedEmployee.getEmployeeName());
+        assertEquals(actualCreatedEmployee, iReactiveEmployeeService.getEmployeeById(String.valueOf(actualCreatedEmployee.getId())).block());
+        assertEquals(2, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void test_snapshot_publishing_should_run_off_the_event_loop() {
+        enqueue(getAllEmployeesResponseResource, Duration.ZERO);
+        enqueue(createEmployeeResponse, Duration.ZERO);
+
+        String loadThread = iReactiveEmployeeService.getHighestSalaryOfEmployees().map(salary -> Thread.currentThread().getName()).block();
+        String patchThread = iReactiveEmployeeService.createEmployee(getCreateEmployeeMap()).map(employee -> Thread.currentThread().getName()).block();
+
+        assertTrue(loadThread.startsWith("boundedElastic"), loadThread);
+        assertTrue(patchThread.startsWith("boundedElastic"), patchThread);
+    }
+
+    private void enqueue(Resource body, Duration delay) {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBodyDelay(delay.toMillis(), TimeUnit.MILLISECONDS)
+                .setBody(resourcesAsString(body)));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeNameIndexTest {
+
+    private static final String[] FIRST_NAMES = {"Tiger", "Garrett", "Ashton", "Cedric", "Airi", "Brielle", "Herrod", "Rhona", "Colleen", "Sonya", "Jena", "Quinn", "Charde", "Haley", "Tatyana", "Michael", "Paul", "Gloria", "Bradley", "Dai", "Jenette", "Yuri", "Caesar", "Doris", "Ångström", "ÉLODIE"};
+    private static final String[] LAST_NAMES = {"Nixon", "Winters", "Cox", "Kelly", "Satou", "Williamson", "Chandler", "Davidson", "Hurst", "Frost", "Gaines", "Flynn", "Marshall", "Kennedy", "Fitzpatrick", "Silva", "Byrd", "Little", "Greer", "Rios", "Caldwell", "Berry", "Vance", "Wilder", "Ståhl", "Çelik"};
+
+    @Test
+    void test_search_should_match_linear_contains_scan() {
+        List<Employee> employees = randomEmployees(5_000, new Random(7));
+        EmployeeNameIndex index = new EmployeeNameIndex(employees);
+        List<String> queries = List.of("an", "a", "AN", "nix", "Nixon", "tiger nixon", "er", "ERR", "rrett wi", "ångs", "élodie", "çel",
+                "zzz", "THIS_STRING_SHOULD_NOT_EXIST", "on ", " ", "aaa", "son");
+
+        for (String query : queries) {
+            assertArrayEquals(linearScan(employees, query), index.search(query), "query: " + query);
+        }
+    }
+
+    @Test
+    void test_search_with_repeated_trigrams_should_not_duplicate_rows() {
+        List<Employee> employees = List.of(employee(1, "Anananas"), employee(2, "Banana"), employee(3, "Nana"));
+        EmployeeNameIndex index = new EmployeeNameIndex(employees);
+
+        assertArrayEquals(new int[]{0, 1}, index.search("anana"));
+        assertArrayEquals(new int[]{0, 1, 2}, index.search("ana"));
+    }
+
+    @Test
+    void test_search_with_null_names_should_skip_them() {
+        List<Employee> employees = List.of(employee(1, null), employee(2, "Garrett Winters"));
+        EmployeeNameIndex index = new EmployeeNameIndex(employees);
+
+        assertArrayEquals(new int[]{1}, index.search("win"));
+        assertArrayEquals(new int[]{1}, index.search("g"));
+    }
+
+    @Test
+    void test_search_on_empty_dataset_should_return_no_rows() {
+        EmployeeNameIndex index = new EmployeeNameIndex(List.of());
+
+        assertEquals(0, index.search("abc").length);
+        assertEquals(0, index.search("a").length);
+    }
+
+    private static int[] linearScan(List<Employee> employees, String query) {
+        return IntStream.range(0, employees.size())
+                .filter(row -> employees.get(row).getEmployeeName().toLowerCase().contains(query.toLowerCase()))
+                .toArray();
+    }
+
+    private static List<Employee> randomEmployees(int count, Random random) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(i, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)]));
+        }
+        return employees;
+    }
+
+    private static Employee employee(int id, String name) {
+        return Employee.builder().id(id).employeeName(name).employeeSalary(1000).employeeAge(30).profileImage("").build();
+    }
+}
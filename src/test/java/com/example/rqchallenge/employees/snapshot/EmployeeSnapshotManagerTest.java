@@ -0,0 +1,343 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.BaseTest;
+import com.example.rqchallenge.employees.client.EmployeeApiClient;
+import com.example.rqchallenge.employees.client.RequestHedger;
+import com.example.rqchallenge.employees.client.RetryBudget;
+import com.example.rqchallenge.employees.client.RetryMetrics;
+import com.example.rqchallenge.employees.dto.Employee;
+import com.example.rqchallenge.employees.exception.NoDataException;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSnapshotManagerTest extends BaseTest {
+
+    private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(1);
+    private static final Duration MAX_STALENESS = Duration.ofMinutes(10);
+
+    private MockWebServer mockWebServer;
+
+    private MutableClock clock;
+
+    private final List<EmployeeSnapshotChangedEvent> publishedEvents = new ArrayList<>();
+
+    private EmployeeSnapshotManager employeeSnapshotManager;
+
+    @TempDir
+    Path snapshotDirectory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        mockWebServer = new MockWebServer();
+        mockWebServer.start();
+        String baseUrl = String.format("http://localhost:%s", mockWebServer.getPort());
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        employeeSnapshotManager = new EmployeeSnapshotManager(new EmployeeApiClient(WebClient.builder().baseUrl(baseUrl).build()),
+                event -> publishedEvents.add((EmployeeSnapshotChangedEvent) event), REFRESH_INTERVAL, MAX_STALENESS, clock);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        employeeSnapshotManager.shutdown();
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void test_current_should_load_once_and_then_serve_from_memory() {
+        enqueue(getAllEmployeesResponseResource);
+
+        EmployeeSnapshot first = employeeSnapshotManager.current();
+        EmployeeSnapshot second = employeeSnapshotManager.current();
+
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertSame(first, second);
+        assertEquals(1, first.getVersion());
+        assertEquals(24, first.getEmployees().size());
+        assertEquals(1, publishedEvents.size());
+    }
+
+    @Test
+    void test_peek_should_not_trigger_a_load() {
+        assertTrue(employeeSnapshotManager.peek().isEmpty());
+        assertEquals(0, mockWebServer.getRequestCount());
+    }
+
+    @Test
+    void test_refresh_with_changed_data_should_bump_version_and_publish_event() {
+        enqueue(getAllEmployeesResponseResource);
+        enqueue(getEmployeesBySearchStringResponse);
+        employeeSnapshotManager.current();
+
+        assertTrue(employeeSnapshotManager.refresh());
+
+        EmployeeSnapshot refreshed = employeeSnapshotManager.current();
+        assertEquals(2, refreshed.getVersion());
+        assertEquals(3, refreshed.getEmployees().size());
+        assertEquals(2, publishedEvents.size());
+        assertEquals(1, publishedEvents.get(1).getPreviousVersion());
+    }
+
+    @Test
+    void test_refresh_with_unchanged_data_should_keep_version() {
+        enqueue(getAllEmployeesResponseResource);
+        enqueue(getAllEmployeesResponseResource);
+        employeeSnapshotManager.current();
+        clock.advance(Duration.ofSeconds(30));
+
+        assertTrue(employeeSnapshotManager.refresh());
+
+        EmployeeSnapshot refreshed = employeeSnapshotManager.peek().orElseThrow();
+        assertEquals(1, refreshed.getVersion());
+        assertEquals(clock.instant(), refreshed.getLoadedAt());
+        assertEquals(1, publishedEvents.size());
+    }
+
+    @Test
+    void test_refresh_failure_should_keep_serving_previous_snapshot() {
+        enqueue(getAllEmployeesResponseResource);
+        enqueue(getNoDataResponse);
+        EmployeeSnapshot loaded = employeeSnapshotManager.current();
+
+        assertFalse(employeeSnapshotManager.refresh());
+
+        assertSame(loaded, employeeSnapshotManager.peek().orElseThrow());
+        EmployeeSnapshotStatus status = employeeSnapshotManager.getStatus();
+        assertEquals(1, status.getRefreshFailures());
+        assertEquals(1, status.getConsecutiveRefreshFailures());
+        assertNotNull(status.getLastRefreshError());
+    }
+
+    @Test
+    void test_refresh_should_run_under_refresh_deadline_not_request_deadline() {
+        employeeSnapshotManager.shutdown();
+        WebClient webClient = WebClient.builder().baseUrl(String.format("http://localhost:%s", mockWebServer.getPort())).build();
+        EmployeeApiClient employeeApiClient = new EmployeeApiClient(webClient, new RetryBudget(0, 1), new RequestHedger(), new RetryMetrics(),
+                Duration.ofMillis(200));
+        employeeSnapshotManager = new EmployeeSnapshotManager(employeeApiClient, EmployeeSnapshotStore.disabled(),
+                event -> publishedEvents.add((EmployeeSnapshotChangedEvent) event), REFRESH_INTERVAL, MAX_STALENESS, EmployeeStorage.OBJECTS,
+                Duration.ofSeconds(5), clock);
+        for (int i = 0; i < 2; i++) {
+            mockWebServer.enqueue(new MockResponse()
+                    .setResponseCode(200)
+                    .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .setBodyDelay(500, TimeUnit.MILLISECONDS)
+                    .setBody(resourcesAsString(getAllEmployeesResponseResource)));
+        }
+
+        assertEquals(1, employeeSnapshotManager.currentAsync().block().getVersion());
+        assertTrue(employeeSnapshotManager.refresh());
+        assertEquals(0, employeeSnapshotManager.getStatus().getRefreshFailures());
+    }
+
+    @Test
+    void test_current_with_no_data_on_first_load_should_throw_exception() {
+        enqueue(getNoDataResponse);
+        assertThrowsExactly(NoDataException.class, () -> employeeSnapshotManager.current());
+        assertFalse(employeeSnapshotManager.getStatus().isLoaded());
+    }
+
+    @Test
+    void test_current_with_concurrent_callers_and_failing_first_load_should_share_one_call_and_its_error() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBodyDelay(300, TimeUnit.MILLISECONDS)
+                .setBody(resourcesAsString(getNoDataResponse)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<EmployeeSnapshot>> loads = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                loads.add(executor.submit(() -> employeeSnapshotManager.current()));
+            }
+            for (Future<EmployeeSnapshot> load : loads) {
+                ExecutionException e = assertThrows(ExecutionException.class, () -> load.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(NoDataException.class, e.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(1, employeeSnapshotManager.getStatus().getRefreshFailures());
+    }
+
+    @Test
+    void test_current_with_expired_snapshot_should_serve_stale_and_refresh_in_background() throws InterruptedException {
+        enqueue(getAllEmployeesResponseResource);
+        enqueue(getEmployeesBySearchStringResponse);
+        EmployeeSnapshot loaded = employeeSnapshotManager.current();
+        clock.advance(REFRESH_INTERVAL.plusSeconds(1));
+
+        assertSame(loaded, employeeSnapshotManager.current());
+
+        assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (employeeSnapshotManager.peek().orElseThrow().getVersion() == 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, employeeSnapshotManager.peek().orElseThrow().getVersion());
+    }
+
+    @Test
+    void test_getStatus_beyond_max_staleness_should_report_stale() {
+        enqueue(getAllEmployeesResponseResource);
+        employeeSnapshotManager.current();
+
+        clock.advance(MAX_STALENESS.plusSeconds(1));
+
+        assertTrue(employeeSnapshotManager.getStatus().isStale());
+    }
+
+    @Test
+    void test_applyChanges_should_patch_snapshot_without_upstream_call() {
+        enqueue(getAllEmployeesResponseResource);
+        EmployeeSnapshot loaded = employeeSnapshotManager.current();
+        Employee created = Employee.builder().id(125555).employeeName("Test Employee 1").employeeSalary(543989).employeeAge(52).profileImage("").build();
+
+        employeeSnapshotManager.applyChanges(List.of(created), List.of(1));
+
+        EmployeeSnapshot patched = employeeSnapshotManager.current();
+        assertEquals(1, mockWebServer.getRequestCount());
+        assertEquals(loaded.getVersion() + 1, patched.getVersion());
+        assertEquals(24, patched.getEmployees().size());
+        assertEquals(created, patched.getEmployees().get(23));
+        assertTrue(patched.getEmployees().stream().noneMatch(employee -> employee.getId().equals(1)));
+
+        EmployeeSnapshotChangedEvent event = publishedEvents.get(1);
+        assertFalse(event.isFullReload());
+        assertEquals(List.of(created), event.getAdded());
+        assertEquals(1, event.getRemoved().size());
+        assertEquals("Tiger Nixon", event.getRemoved().get(0).getEmployeeName());
+    }
+
+    @Test
+    void test_applyChanges_with_existing_id_should_replace_employee() {
+        enqueue(getAllEmployeesResponseResource);
+        employeeSnapshotManager.current();
+        Employee updated = Employee.builder().id(2).employeeName("Garrett Winters").employeeSalary(1).employeeAge(63).profileImage("").build();
+
+        employeeSnapshotManager.applyChanges(List.of(updated), List.of());
+
+        List<Employee> employees = employeeSnapshotManager.current().getEmployees();
+        assertEquals(24, employees.size());
+        assertEquals(1, employees.stream().filter(employee -> employee.getId().equals(2)).count());
+        assertEquals(updated, employees.get(23));
+    }
+
+    @Test
+    void test_applyChanges_before_first_load_should_do_nothing() {
+        employeeSnapshotManager.applyChanges(List.of(Employee.builder().id(1).build()), List.of());
+
+        assertTrue(employeeSnapshotManager.peek().isEmpty());
+        assertTrue(publishedEvents.isEmpty());
+    }
+
+    @Test
+    void test_startScheduledRefresh_with_stored_snapshot_should_serve_it_and_reconcile_in_background() throws InterruptedException {
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(snapshotDirectory.resolve("employees.snapshot").toString(), Duration.ofHours(1));
+        store.write(new EmployeeSnapshot(5, clock.instant().minusSeconds(30), List.of(new Employee(1, "Tiger Nixon", 320800, 61, ""))));
+        enqueue(getAllEmployeesResponseResource);
+        employeeSnapshotManager = newSnapshotManager(store);
+
+        employeeSnapshotManager.startScheduledRefresh();
+
+        assertEquals(5, employeeSnapshotManager.peek().orElseThrow().getVersion());
+        assertNotNull(mockWebServer.takeRequest(5, TimeUnit.SECONDS));
+        EmployeeSnapshot reconciled = awaitVersion(6);
+        assertEquals(24, reconciled.getEmployees().size());
+    }
+
+    @Test
+    void test_current_with_store_should_write_loaded_snapshot_to_disk() throws InterruptedException {
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(snapshotDirectory.resolve("employees.snapshot").toString(), Duration.ofHours(1));
+        enqueue(getAllEmployeesResponseResource);
+        employeeSnapshotManager = newSnapshotManager(store);
+
+        EmployeeSnapshot loaded = employeeSnapshotManager.current();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (store.read(clock.instant()).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        EmployeeSnapshot stored = store.read(clock.instant()).orElseThrow();
+        assertEquals(loaded.getVersion(), stored.getVersion());
+        assertEquals(loaded.getEmployees(), stored.getEmployees());
+    }
+
+    private EmployeeSnapshotManager newSnapshotManager(EmployeeSnapshotStore store) {
+        employeeSnapshotManager.shutdown();
+        return new EmployeeSnapshotManager(new EmployeeApiClient(WebClient.builder()
+                .baseUrl(String.format("http://localhost:%s", mockWebServer.getPort())).build()),
+                store, event -> publishedEvents.add((EmployeeSnapshotChangedEvent) event), REFRESH_INTERVAL, MAX_STALENESS, clock);
+    }
+
+    private EmployeeSnapshot awaitVersion(long version) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (employeeSnapshotManager.peek().orElseThrow().getVersion() < version && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        EmployeeSnapshot current = employeeSnapshotManager.peek().orElseThrow();
+        assertEquals(version, current.getVersion());
+        return current;
+    }
+
+    private void enqueue(Resource body) {
+        mockWebServer.enqueue(new MockResponse()
+                .setResponseCode(200)
+                .setHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(resourcesAsString(body)));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
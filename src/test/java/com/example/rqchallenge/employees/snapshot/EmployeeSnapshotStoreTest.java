@@ -0,0 +1,72 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSnapshotStoreTest {
+
+    private static final Instant LOADED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void test_read_after_write_should_restore_version_load_time_and_employees() {
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(directory.resolve("employees.snapshot").toString(), Duration.ofHours(1));
+        List<Employee> employees = List.of(
+                new Employee(1, "Tiger Nixon", 320800, 61, ""),
+                new Employee(2, "Zoë Ünicode", null, null, null));
+
+        store.write(new EmployeeSnapshot(7, LOADED_AT, employees));
+        EmployeeSnapshot restored = store.read(LOADED_AT.plusSeconds(60)).orElseThrow();
+
+        assertEquals(7, restored.getVersion());
+        assertEquals(LOADED_AT, restored.getLoadedAt());
+        assertEquals(employees, restored.getEmployees());
+        assertEquals("Zoë Ünicode", restored.findById(2).orElseThrow().getEmployeeName());
+    }
+
+    @Test
+    void test_read_with_corrupted_file_should_return_empty() throws IOException {
+        Path file = directory.resolve("employees.snapshot");
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(file.toString(), Duration.ofHours(1));
+        store.write(new EmployeeSnapshot(1, LOADED_AT, List.of(new Employee(1, "Tiger Nixon", 320800, 61, ""))));
+        byte[] content = Files.readAllBytes(file);
+        content[content.length / 2] ^= 0x40;
+        Files.write(file, content);
+
+        assertTrue(store.read(LOADED_AT).isEmpty());
+    }
+
+    @Test
+    void test_read_with_snapshot_older_than_max_age_should_return_empty() {
+        EmployeeSnapshotStore store = new EmployeeSnapshotStore(directory.resolve("employees.snapshot").toString(), Duration.ofMinutes(30));
+        store.write(new EmployeeSnapshot(1, LOADED_AT, List.of(new Employee(1, "Tiger Nixon", 320800, 61, ""))));
+
+        assertTrue(store.read(LOADED_AT.plus(Duration.ofMinutes(29))).isPresent());
+        assertTrue(store.read(LOADED_AT.plus(Duration.ofMinutes(31))).isEmpty());
+    }
+
+    @Test
+    void test_disabled_store_should_neither_write_nor_read() throws IOException {
+        EmployeeSnapshotStore store = EmployeeSnapshotStore.disabled();
+
+        store.write(new EmployeeSnapshot(1, LOADED_AT, List.of()));
+
+        assertFalse(store.isEnabled());
+        assertTrue(store.read(LOADED_AT).isEmpty());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.rqchallenge.employees.snapshot;
+
+import com.example.rqchallenge.employees.dto.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeSnapshotTest {
+
+    private static final Instant LOADED_AT = Instant.parse("2024-01-01T00:00:00Z");
+    private static final String[] NAMES = {"Tiger Nixon", "Garrett Winters", "Ashton Cox", "Cedric Kelly", "Airi Satou", "Zoë Ünicode"};
+
+    @Test
+    void test_every_storage_should_answer_like_object_storage() {
+        List<Employee> employees = randomEmployees(2_000, new Random(11));
+        EmployeeSnapshot expected = new EmployeeSnapshot(1, LOADED_AT, employees, EmployeeStorage.OBJECTS);
+
+        for (EmployeeStorage storage : EmployeeStorage.values()) {
+            EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, employees, storage);
+
+            assertEquals(employees, snapshot.getEmployees(), storage.name());
+            assertEquals(expected.highestSalary(), snapshot.highestSalary(), storage.name());
+            assertEquals(expected.topEarners(10), snapshot.topEarners(10), storage.name());
+            for (String query : List.of("nix", "a", "ÜNI", "winters", "zzz")) {
+                assertEquals(expected.searchByName(query), snapshot.searchByName(query), storage + " query: " + query);
+            }
+            for (int id = -1; id <= 600; id++) {
+                assertEquals(expected.findById(id), snapshot.findById(id), storage + " id: " + id);
+            }
+        }
+    }
+
+    @Test
+    void test_columnar_storage_should_keep_missing_fields_missing() {
+        List<Employee> employees = List.of(new Employee(null, null, null, null, null), new Employee(0, "", 0, 0, ""));
+
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, employees, EmployeeStorage.COLUMNAR_OFF_HEAP);
+
+        assertEquals(employees, snapshot.getEmployees());
+        assertEquals(0, snapshot.highestSalary().orElseThrow());
+        assertEquals(List.of(employees.get(1)), snapshot.topEarners(10));
+        assertEquals(employees.get(1), snapshot.findById(0).orElseThrow());
+    }
+
+    @Test
+    void test_has_same_employees_should_compare_columns_with_list() {
+        List<Employee> employees = randomEmployees(100, new Random(3));
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, employees, EmployeeStorage.COLUMNAR);
+        List<Employee> changed = new ArrayList<>(employees);
+        Employee original = changed.get(42);
+        changed.set(42, new Employee(original.getId(), original.getEmployeeName(), original.getEmployeeSalary(),
+                original.getEmployeeAge() == null ? 30 : null, original.getProfileImage()));
+
+        assertTrue(snapshot.hasSameEmployees(new ArrayList<>(employees)));
+        assertFalse(snapshot.hasSameEmployees(changed));
+        assertFalse(snapshot.hasSameEmployees(employees.subList(0, 99)));
+    }
+
+    @Test
+    void test_patched_should_answer_like_a_full_rebuild_on_every_storage() {
+        List<Employee> employees = randomEmployees(500, new Random(9));
+        List<Employee> added = List.of(new Employee(9001, "Ada Lovelace", 1_250_000, 36, ""), new Employee(9002, null, null, null, null),
+                new Employee(employees.get(7).getId(), "Garrett Winters", 170_000, 63, ""));
+        Set<Integer> replacedIds = new HashSet<>(Arrays.asList(employees.get(0).getId(), employees.get(250).getId(), null));
+        added.forEach(employee -> replacedIds.add(employee.getId()));
+        List<Employee> patchedEmployees = employees.stream().filter(employee -> !replacedIds.contains(employee.getId())).collect(Collectors.toList());
+        patchedEmployees.addAll(added);
+
+        for (EmployeeStorage storage : EmployeeStorage.values()) {
+            EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, employees, storage);
+            // orders built before the patch are carried over, the others are built afterwards
+            snapshot.slice(EmployeeSort.NAME, false, 0, 1);
+            snapshot.slice(EmployeeSort.SALARY, false, 0, 1);
+
+            EmployeeSnapshot patched = snapshot.patched(2, added, snapshot.rowsWithIds(replacedIds));
+            EmployeeSnapshot expected = new EmployeeSnapshot(2, LOADED_AT, patchedEmployees, storage);
+
+            assertEquals(patchedEmployees, patched.getEmployees(), storage.name());
+            assertEquals(expected.getStatistics(), patched.getStatistics(), storage.name());
+            assertEquals(expected.topEarners(patchedEmployees.size()), patched.topEarners(patchedEmployees.size()), storage.name());
+            assertEquals(1_250_000, patched.salaryAtRank(patched.getRankedCount() - 1), storage.name());
+            for (String query : List.of("nix", "a", "lovelace", "winters", "zzz")) {
+                assertEquals(expected.searchByName(query), patched.searchByName(query), storage + " query: " + query);
+            }
+            for (int id = -1; id <= 130; id++) {
+                assertEquals(expected.findById(id), patched.findById(id), storage + " id: " + id);
+            }
+            assertEquals(expected.findById(9001), patched.findById(9001), storage.name());
+            for (EmployeeSort sort : EmployeeSort.values()) {
+                assertEquals(expected.slice(sort, false, 0, patchedEmployees.size()), patched.slice(sort, false, 0, patchedEmployees.size()), storage + " sort: " + sort);
+                assertEquals(expected.searchSlice("er", sort, true, 0, 50), patched.searchSlice("er", sort, true, 0, 50), storage + " sort: " + sort);
+            }
+        }
+    }
+
+    @Test
+    void test_slice_should_page_through_the_sorted_employees_on_every_storage() {
+        List<Employee> employees = randomEmployees(300, new Random(13));
+        List<Employee> expected = employees.stream()
+                .sorted(Comparator.comparing(Employee::getEmployeeAge, Comparator.nullsLast(Comparator.reverseOrder())))
+                .collect(Collectors.toList());
+
+        for (EmployeeStorage storage : EmployeeStorage.values()) {
+            EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, employees, storage);
+            List<Employee> paged = new ArrayList<>();
+            for (int from = 0; from < employees.size(); from += 70) {
+                EmployeeSlice slice = snapshot.slice(EmployeeSort.AGE, true, from, 70);
+                assertEquals(employees.size(), slice.getTotal(), storage.name());
+                paged.addAll(slice.getEmployees());
+            }
+
+            assertEquals(expected.stream().map(Employee::getEmployeeAge).collect(Collectors.toList()),
+                    paged.stream().map(Employee::getEmployeeAge).collect(Collectors.toList()), storage.name());
+            assertEquals(Set.copyOf(employees), Set.copyOf(paged), storage.name());
+            assertTrue(snapshot.slice(EmployeeSort.AGE, true, employees.size(), 70).getEmployees().isEmpty(), storage.name());
+        }
+    }
+
+    @Test
+    void test_slice_descending_should_keep_employees_missing_the_field_last() {
+        List<Employee> employees = List.of(new Employee(1, "Tiger Nixon", null, 61, ""), new Employee(2, "Garrett Winters", 170_750, 63, ""),
+                new Employee(3, null, 86_000, null, ""), new Employee(4, "Ashton Cox", 433_060, 66, ""));
+
+        for (EmployeeStorage storage : EmployeeStorage.values()) {
+            EmployeeSnapshot snapshot = new EmployeeSnapshot(1, LOADED_AT, employees, storage);
+
+            assertEquals(ids(4, 2, 3, 1), ids(snapshot.slice(EmployeeSort.SALARY, true, 0, 10)), storage.name());
+            assertEquals(ids(3, 2, 4, 1), ids(snapshot.slice(EmployeeSort.SALARY, false, 0, 10)), storage.name());
+            assertEquals(ids(1, 2, 4, 3), ids(snapshot.slice(EmployeeSort.NAME, true, 0, 10)), storage.name());
+            assertEquals(ids(2, 3, 1), ids(snapshot.slice(EmployeeSort.SALARY, true, 1, 10)), storage.name());
+            assertEquals(ids(2, 1), ids(snapshot.searchSlice("t", EmployeeSort.SALARY, true, 1, 10)), storage.name());
+            assertEquals(ids(4, 2, 1), ids(snapshot.searchSlice("t", EmployeeSort.AGE, true, 0, 10)), storage.name());
+        }
+    }
+
+    @Test
+    void test_with_storage_should_keep_version_load_time_and_employees() {
+        List<Employee> employees = randomEmployees(50, new Random(5));
+        EmployeeSnapshot snapshot = new EmployeeSnapshot(4, LOADED_AT, employees);
+
+        EmployeeSnapshot columnar = snapshot.withStorage(EmployeeStorage.COLUMNAR);
+
+        assertSame(snapshot, snapshot.withStorage(EmployeeStorage.OBJECTS));
+        assertEquals(EmployeeStorage.COLUMNAR, columnar.getStorage());
+        assertEquals(4, columnar.getVersion());
+        assertEquals(LOADED_AT, columnar.getLoadedAt());
+        assertEquals(employees, columnar.getEmployees());
+    }
+
+    private static List<Integer> ids(Integer... ids) {
+        return List.of(ids);
+    }
+
+    private static List<Integer> ids(EmployeeSlice slice) {
+        return ids(slice.getEmployees());
+    }
+
+    private static List<Integer> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+
+    private static List<Employee> randomEmployees(int count, Random random) {
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(Employee.builder()
+                    // ids repeat now and then, where the last employee with the id is the one found
+                    .id(random.nextInt(10) == 0 ? null : random.nextInt(count / 4 + 1))
+                    .employeeName(random.nextInt(20) == 0 ? null : NAMES[random.nextInt(NAMES.length)])
+                    .employeeSalary(random.nextInt(10) == 0 ? null : random.nextInt(1000) * 1000)
+                    .employeeAge(random.nextInt(10) == 0 ? null : 18 + random.nextInt(50))
+                    .profileImage(random.nextBoolean() ? "" : "https://picsum.photos/" + random.nextInt(5))
+                    .build());
+        }
+        return employees;
+    }
+}
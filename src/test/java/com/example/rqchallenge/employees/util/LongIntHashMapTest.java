@@ -0,0 +1,79 @@
+package com.example.rqchallenge.employees.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTest {
+
+    private static final int MISSING = -1;
+
+    @Test
+    void test_put_if_absent_should_keep_first_value() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertEquals(1, map.putIfAbsent(7L, 1));
+        assertEquals(1, map.putIfAbsent(7L, 2));
+        assertEquals(3, map.putIfAbsent(0L, 3));
+
+        assertEquals(1, map.get(7L, MISSING));
+        assertEquals(3, map.get(0L, MISSING));
+        assertEquals(MISSING, map.get(8L, MISSING));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void test_remove_with_zero_key_should_be_supported() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(0L, 5);
+
+        map.remove(0L);
+        map.remove(0L);
+
+        assertEquals(MISSING, map.get(0L, MISSING));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void test_random_puts_and_removes_should_match_hash_map() {
+        LongIntHashMap map = new LongIntHashMap(2);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            // a small key range keeps probe chains long and removals frequent
+            long key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = -1_000; key < 1_000; key++) {
+            assertEquals(expected.getOrDefault(key, MISSING), map.get(key, MISSING), "key: " + key);
+        }
+    }
+
+    @Test
+    void test_copy_and_replace_values_should_leave_source_unchanged() {
+        LongIntHashMap source = new LongIntHashMap();
+        source.put(0L, 1);
+        source.put(42L, 2);
+
+        LongIntHashMap copy = new LongIntHashMap(source);
+        copy.replaceValues(value -> value * 10);
+        copy.remove(42L);
+
+        assertEquals(10, copy.get(0L, MISSING));
+        assertEquals(MISSING, copy.get(42L, MISSING));
+        assertEquals(1, source.get(0L, MISSING));
+        assertEquals(2, source.get(42L, MISSING));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.rqchallenge.employees.util;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void test_execute_with_concurrent_subscribers_should_share_one_call() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+        List<String> results = new ArrayList<>();
+
+        for (int i = 0; i < 10; i++) {
+            singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                return upstream.asMono();
+            }).subscribe(results::add);
+        }
+        upstream.tryEmitValue("value");
+
+        assertEquals(1, calls.get());
+        assertEquals(10, results.size());
+        assertTrue(results.stream().allMatch("value"::equals));
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void test_execute_with_failing_call_should_share_error_with_every_waiter() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> upstream = Sinks.one();
+        List<Throwable> errors = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                return upstream.asMono();
+            }).subscribe(value -> fail(), errors::add);
+        }
+        upstream.tryEmitError(new IllegalStateException("upstream down"));
+
+        assertEquals(1, calls.get());
+        assertEquals(5, errors.size());
+        assertTrue(errors.stream().allMatch(error -> error.getMessage().equals("upstream down")));
+    }
+
+    @Test
+    void test_execute_after_completion_should_start_a_new_call() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertEquals("1", singleFlight.execute("key", () -> Mono.fromSupplier(() -> String.valueOf(calls.incrementAndGet()))).block());
+        assertEquals("2", singleFlight.execute("key", () -> Mono.fromSupplier(() -> String.valueOf(calls.incrementAndGet()))).block());
+    }
+
+    @Test
+    void test_execute_from_subscriber_of_finished_call_should_start_a_new_call() {
+        AtomicInteger calls = new AtomicInteger();
+        List<String> results = new ArrayList<>();
+
+        singleFlight.execute("key", () -> Mono.just("first")).subscribe(first -> {
+            results.add(first);
+            singleFlight.execute("key", () -> Mono.fromSupplier(() -> "second-" + calls.incrementAndGet())).subscribe(results::add);
+        });
+
+        assertEquals(List.of("first", "second-1"), results);
+    }
+
+    @Test
+    void test_execute_with_different_keys_should_not_share_calls() {
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        List<String> results = new ArrayList<>();
+
+        singleFlight.execute("first", first::asMono).subscribe(results::add);
+        singleFlight.execute("second", second::asMono).subscribe(results::add);
+        assertEquals(2, singleFlight.inFlightCount());
+        second.tryEmitValue("b");
+        first.tryEmitValue("a");
+
+        assertEquals(List.of("b", "a"), results);
+    }
+
+    @Test
+    void test_execute_with_cancelled_subscriber_should_keep_call_for_others() {
+        Sinks.One<String> upstream = Sinks.one();
+        List<String> results = new ArrayList<>();
+
+        singleFlight.execute("key", upstream::asMono).subscribe().dispose();
+        singleFlight.execute("key", upstream::asMono).subscribe(results::add);
+        upstream.tryEmitValue("value");
+
+        assertEquals(List.of("value"), results);
+    }
+}